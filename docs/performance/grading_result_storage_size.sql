@@ -0,0 +1,70 @@
+-- Measures table + index size of the two grading result formats at 1M submissions.
+-- Run against a scratch database (needs PostgreSQL 13+ for gen_random_uuid and btree dedup):
+--   psql "$SCRATCH_DB_URL" -f docs/performance/grading_result_storage_size.sql
+\set submissions 1000000
+\set tasks 5
+
+DROP SCHEMA IF EXISTS storage_bench CASCADE;
+CREATE SCHEMA storage_bench;
+SET search_path = storage_bench;
+
+-- Submission rows as they exist today (no result_bits) and with the compact column.
+CREATE TABLE submission_rows (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    assignment_id UUID NOT NULL,
+    file_url TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    passed_count INTEGER NOT NULL,
+    total_count INTEGER NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+CREATE TABLE submission_compact (LIKE submission_rows INCLUDING ALL, result_bits BYTEA);
+
+CREATE TABLE grading_result (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    submission_id UUID NOT NULL,
+    task_name VARCHAR(255) NOT NULL,
+    is_passed BOOLEAN NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+INSERT INTO submission_rows (id, user_id, assignment_id, file_url, status, passed_count, total_count)
+SELECT gen_random_uuid(), gen_random_uuid(), '00000000-0000-0000-0000-000000000001',
+       'https://example.com/project-' || g || '/index.html', 'COMPLETED', 0, :tasks
+FROM generate_series(1, :submissions) g;
+
+INSERT INTO grading_result (submission_id, task_name, is_passed)
+SELECT s.id, 'Sub-task ' || t || ': verify requirement', random() < 0.7
+FROM submission_rows s, generate_series(1, :tasks) t;
+
+CREATE INDEX idx_grading_result_submission ON grading_result (submission_id);
+
+INSERT INTO submission_compact
+SELECT s.*, decode(lpad(to_hex((random() * 31)::INT), 2, '0'), 'hex')
+FROM submission_rows s;
+
+VACUUM ANALYZE;
+
+SELECT 'rows: submission' AS format,
+       pg_size_pretty(pg_relation_size('submission_rows')) AS heap,
+       pg_size_pretty(pg_indexes_size('submission_rows')) AS indexes,
+       pg_size_pretty(pg_total_relation_size('submission_rows')) AS total
+UNION ALL
+SELECT 'rows: grading_result',
+       pg_size_pretty(pg_relation_size('grading_result')),
+       pg_size_pretty(pg_indexes_size('grading_result')),
+       pg_size_pretty(pg_total_relation_size('grading_result'))
+UNION ALL
+SELECT 'compact: submission',
+       pg_size_pretty(pg_relation_size('submission_compact')),
+       pg_size_pretty(pg_indexes_size('submission_compact')),
+       pg_size_pretty(pg_total_relation_size('submission_compact'));
+
+SELECT pg_size_pretty(
+           pg_total_relation_size('submission_rows') + pg_total_relation_size('grading_result')
+       ) AS rows_format_total,
+       pg_size_pretty(pg_total_relation_size('submission_compact')) AS compact_format_total;
+
+DROP SCHEMA storage_bench CASCADE;
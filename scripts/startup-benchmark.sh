@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Measures time-to-first-successful-request for one or more images.
+#
+#   scripts/startup-benchmark.sh [-n runs] [-p path] [-e env-file] image [image...]
+#
+# Each run starts a fresh container and polls the path every 20ms until it returns 2xx; the time
+# from `docker run` to that response is reported (includes JVM start, context refresh and the
+# first request's lazy initialization). The env file must point at a reachable database when the
+# path touches it (e.g. -p /api/assignments?size=1).
+#
+# Example:
+#   scripts/startup-benchmark.sh -n 5 -e .env.bench connectable:latest connectable:startup
+set -euo pipefail
+
+RUNS=5
+REQUEST_PATH="/actuator/health"
+ENV_FILE=""
+PORT=18080
+TIMEOUT_SECONDS=120
+
+while getopts "n:p:e:" opt; do
+  case "$opt" in
+    n) RUNS="$OPTARG" ;;
+    p) REQUEST_PATH="$OPTARG" ;;
+    e) ENV_FILE="$OPTARG" ;;
+    *) echo "usage: $0 [-n runs] [-p path] [-e env-file] image [image...]" >&2; exit 2 ;;
+  esac
+done
+shift $((OPTIND - 1))
+[ "$#" -ge 1 ] || { echo "at least one image is required" >&2; exit 2; }
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+measure() {
+  local image="$1" name="startup-bench-$$" start elapsed
+  local env_args=()
+  [ -n "$ENV_FILE" ] && env_args=(--env-file "$ENV_FILE")
+
+  start=$(now_ms)
+  docker run -d --rm --name "$name" -p "$PORT:8080" --cpus=1 --memory=512m "${env_args[@]}" "$image" >/dev/null
+  while true; do
+    if curl -fsS -o /dev/null "http://localhost:$PORT$REQUEST_PATH" 2>/dev/null; then
+      elapsed=$(( $(now_ms) - start ))
+      break
+    fi
+    if [ $(( $(now_ms) - start )) -gt $(( TIMEOUT_SECONDS * 1000 )) ]; then
+      elapsed=-1
+      break
+    fi
+    sleep 0.02
+  done
+  docker rm -f "$name" >/dev/null 2>&1 || true
+  echo "$elapsed"
+}
+
+printf "%-40s %8s %8s %8s   %s\n" "image" "min ms" "median" "max ms" "runs"
+for image in "$@"; do
+  results=()
+  for _ in $(seq "$RUNS"); do
+    results+=("$(measure "$image")")
+  done
+  sorted=($(printf "%s\n" "${results[@]}" | sort -n))
+  median=${sorted[$(( ${#sorted[@]} / 2 ))]}
+  printf "%-40s %8s %8s %8s   %s\n" "$image" "${sorted[0]}" "$median" "${sorted[-1]}" "${results[*]}"
+done
@@ -0,0 +1,35 @@
+package gdgoc.onewave.connectable;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+/**
+ * Boots the application against PostgreSQL in a container whose schema comes only from
+ * db/migration, so every subclass also checks the migrations against the entities
+ * ({@code ddl-auto: validate}).
+ *
+ * <p>The container is started once for the whole run rather than per class, so all
+ * subclasses share it and the cached application context. Tests clean up their own rows.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+public abstract class PostgresIntegrationTest {
+
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("worker.url", () -> "http://localhost:9");
+        registry.add("gemini.api-key", () -> "integration-test");
+        registry.add("gcs.bucket-name", () -> "integration-test");
+        registry.add("worker.warmup.enabled", () -> "false");
+    }
+}
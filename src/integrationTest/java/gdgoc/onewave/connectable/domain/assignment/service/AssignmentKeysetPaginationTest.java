@@ -0,0 +1,107 @@
+package gdgoc.onewave.connectable.domain.assignment.service;
+
+import gdgoc.onewave.connectable.PostgresIntegrationTest;
+import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentListDataResponse;
+import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentListResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks GET /api/assignments cursor pages over rows that share created_at, where only the
+ * id tie-break keeps pages from overlapping or skipping rows.
+ */
+class AssignmentKeysetPaginationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> expectedOrder = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM assignment");
+        LocalDateTime newer = LocalDateTime.of(2026, 10, 19, 12, 0);
+        LocalDateTime older = newer.minusMinutes(1);
+        List<UUID> newerIds = insert(newer, 3);
+        List<UUID> olderIds = insert(older, 4);
+        expectedOrder.clear();
+        expectedOrder.addAll(newerIds);
+        expectedOrder.addAll(olderIds);
+    }
+
+    private List<UUID> insert(LocalDateTime createdAt, int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID id = UUID.randomUUID();
+            jdbcTemplate.update("""
+                    INSERT INTO assignment (id, user_id, title, content, created_at, updated_at)
+                    VALUES (?, ?, 'Keyset', '# Keyset', ?, ?)
+                    """, id, UUID.randomUUID(), createdAt, createdAt);
+            ids.add(id);
+        }
+        // Same order as the query's id DESC (PostgreSQL compares uuid bytewise, like UUID strings)
+        ids.sort(Comparator.comparing(UUID::toString).reversed());
+        return ids;
+    }
+
+    @Test
+    void getAssignments_withCursor_shouldStartStrictlyAfterIt() {
+        // Given
+        AssignmentListDataResponse first = assignmentService.getAssignments(0, 2, null, false);
+        UUID lastOfFirst = first.content().get(1).id();
+
+        // When
+        AssignmentListDataResponse second = assignmentService.getAssignments(0, 2, first.nextCursor(), false);
+
+        // Then
+        assertThat(second.content()).extracting(AssignmentListResponse::id)
+                .doesNotContain(lastOfFirst)
+                .containsExactlyElementsOf(expectedOrder.subList(2, 4));
+    }
+
+    @Test
+    void getAssignments_followingCursors_shouldVisitEveryRowOnceInOrder() {
+        // Given
+        List<UUID> visited = new ArrayList<>();
+        String cursor = null;
+
+        // When
+        do {
+            AssignmentListDataResponse page = assignmentService.getAssignments(0, 3, cursor, false);
+            page.content().forEach(assignment -> visited.add(assignment.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(visited).containsExactlyElementsOf(expectedOrder);
+    }
+
+    @Test
+    void getAssignments_withOutOfRangePageAndSize_shouldClampInsteadOfFailing() {
+        // When
+        AssignmentListDataResponse tooSmall = assignmentService.getAssignments(-1, 0, null, true);
+        AssignmentListDataResponse tooLarge = assignmentService.getAssignments(0, 1000, null, false);
+
+        // Then
+        assertThat(tooSmall.page()).isZero();
+        assertThat(tooSmall.size()).isEqualTo(1);
+        assertThat(tooSmall.content()).extracting(AssignmentListResponse::id)
+                .containsExactly(expectedOrder.get(0));
+        assertThat(tooSmall.totalPages()).isEqualTo((int) tooSmall.totalElements());
+        assertThat(tooLarge.size()).isEqualTo(100);
+        assertThat(tooLarge.content()).hasSize(expectedOrder.size());
+    }
+}
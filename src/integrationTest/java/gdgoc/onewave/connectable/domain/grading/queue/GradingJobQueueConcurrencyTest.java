@@ -0,0 +1,128 @@
+package gdgoc.onewave.connectable.domain.grading.queue;
+
+import gdgoc.onewave.connectable.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link GradingJobQueue} against real PostgreSQL, since SKIP LOCKED and lease expiry
+ * cannot be checked with mocks.
+ */
+class GradingJobQueueConcurrencyTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private GradingJobQueue queue;
+    private UUID assignmentId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM submission");
+        assignmentId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO assignment (id, user_id, title, content) VALUES (?, ?, 'Queue', '# Queue')",
+                assignmentId, UUID.randomUUID());
+        queue = new GradingJobQueue(jdbcTemplate, 3);
+    }
+
+    private UUID enqueue() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO submission (id, user_id, assignment_id, file_url, status)
+                VALUES (?, ?, ?, 'https://example.com', 'PENDING')
+                """, id, UUID.randomUUID(), assignmentId);
+        queue.enqueue(id);
+        return id;
+    }
+
+    @Test
+    void claim_withConcurrentConsumers_shouldHandOutEachJobExactlyOnce() throws Exception {
+        // Given
+        int jobs = 500;
+        for (int i = 0; i < jobs; i++) {
+            enqueue();
+        }
+        Set<UUID> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        ExecutorService consumers = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int c = 0; c < 8; c++) {
+            String owner = "consumer-" + c;
+            futures.add(consumers.submit(() -> {
+                Optional<GradingJob> job;
+                while ((job = queue.claim(owner, Duration.ofMinutes(1))).isPresent()) {
+                    if (!claimed.add(job.get().submissionId())) {
+                        duplicates.incrementAndGet();
+                    }
+                    assertThat(queue.complete(job.get(), owner)).isTrue();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        consumers.shutdown();
+
+        // Then
+        assertThat(duplicates).hasValue(0);
+        assertThat(claimed).hasSize(jobs);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM grading_job", Integer.class)).isZero();
+    }
+
+    @Test
+    void claim_afterLeaseExpires_shouldMoveJobToNewOwner() throws Exception {
+        // Given
+        UUID id = enqueue();
+        GradingJob first = queue.claim("dead-instance", Duration.ofMillis(200)).orElseThrow();
+        Thread.sleep(400);
+
+        // When
+        GradingJob second = queue.claim("live-instance", Duration.ofMinutes(1)).orElseThrow();
+
+        // Then
+        assertThat(second.submissionId()).isEqualTo(id);
+        assertThat(second.attempts()).isEqualTo(2);
+        assertThat(queue.complete(first, "dead-instance")).isFalse();
+        assertThat(queue.complete(second, "live-instance")).isTrue();
+    }
+
+    @Test
+    void deadLetterExpired_whenLastAttemptLeaseExpires_shouldFailSubmission() throws Exception {
+        // Given
+        UUID id = enqueue();
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            GradingJob job = queue.claim("instance-" + attempt, Duration.ofMillis(200)).orElseThrow();
+            assertThat(job.attempts()).isEqualTo(attempt);
+            Thread.sleep(400);
+        }
+
+        // When
+        int dead = queue.deadLetterExpired();
+
+        // Then
+        assertThat(dead).isEqualTo(1);
+        assertThat(queue.claim("instance-4", Duration.ofMinutes(1))).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM grading_job WHERE submission_id = ?",
+                String.class, id)).isEqualTo("DEAD");
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM submission WHERE id = ?",
+                String.class, id)).isEqualTo("FAILED");
+    }
+}
@@ -0,0 +1,240 @@
+package gdgoc.onewave.connectable.domain.submission.controller;
+
+import gdgoc.onewave.connectable.PostgresIntegrationTest;
+import gdgoc.onewave.connectable.domain.entity.SubmissionStatus;
+import gdgoc.onewave.connectable.domain.grading.dto.GradingResultResponse;
+import gdgoc.onewave.connectable.domain.submission.dto.SubmissionRequest;
+import gdgoc.onewave.connectable.domain.submission.dto.SubmissionResponse;
+import gdgoc.onewave.connectable.domain.submission.service.SubmissionService;
+import gdgoc.onewave.connectable.global.concurrency.AdaptiveConcurrencyLimiter;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.exception.RetryAfterException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Streaming submissions end to end: per-result transactions against PostgreSQL, a worker on
+ * MockWebServer speaking ndjson, and the SSE endpoint with a single streaming slot.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+class SubmissionStreamTest extends PostgresIntegrationTest {
+
+    static final MockWebServer WORKER = new MockWebServer();
+
+    static {
+        try {
+            WORKER.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void streamProperties(DynamicPropertyRegistry registry) {
+        registry.add("worker.urls", () -> "http://" + WORKER.getHostName() + ":" + WORKER.getPort());
+        registry.add("worker.protocol", () -> "ndjson");
+        registry.add("worker.limiter.initial-limit", () -> "1");
+        registry.add("worker.limiter.min-limit", () -> "1");
+        registry.add("worker.limiter.max-queue-size", () -> "0");
+        registry.add("submission.probe.enabled", () -> "false");
+        registry.add("submission.rate-limit.enabled", () -> "false");
+        registry.add("submission.stream-pool-size", () -> "1");
+    }
+
+    @Autowired
+    private SubmissionService submissionService;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter gradingWorkerLimiter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+    private UUID assignmentId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        assignmentId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO assignment (id, user_id, title, content, sub_tasks, ai_script)
+                VALUES (?, ?, 'Stream', '# Stream', '["Task 1", "Task 2"]'::jsonb, 'await page.goto(url);')
+                """, assignmentId, UUID.randomUUID());
+    }
+
+    private static SubmissionRequest request() {
+        return new SubmissionRequest(UUID.randomUUID().toString(), "https://student.example.com");
+    }
+
+    private static MockResponse ndjson(String body) {
+        return new MockResponse().setBody(body).addHeader("Content-Type", "application/x-ndjson");
+    }
+
+    private int submissionCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM submission WHERE assignment_id = ?",
+                Integer.class, assignmentId);
+    }
+
+    @Test
+    void submitStreaming_whenWorkerBusy_shouldDeleteSubmission() {
+        // Given
+        AdaptiveConcurrencyLimiter.Permit held = gradingWorkerLimiter.acquire().orElseThrow();
+
+        // When / Then
+        try {
+            assertThatThrownBy(() -> submissionService.submitStreaming(assignmentId, request(), result -> {}))
+                    .isInstanceOf(RetryAfterException.class)
+                    .extracting("errorCode").isEqualTo(ErrorCode.GRADING_WORKER_BUSY);
+        } finally {
+            held.release(false);
+        }
+        assertThat(submissionCount()).isZero();
+    }
+
+    @Test
+    void submitStreaming_whenStreamEndsEarly_shouldStoreRemainingResultsAsFailed() {
+        // Given
+        WORKER.enqueue(ndjson("{\"taskName\": \"Task 1\", \"isPassed\": true}\n"));
+        List<GradingResultResponse> reported = new ArrayList<>();
+
+        // When
+        SubmissionResponse response = submissionService.submitStreaming(assignmentId, request(), reported::add);
+
+        // Then
+        assertThat(reported).containsExactly(
+                new GradingResultResponse("Task 1", true),
+                new GradingResultResponse("Task 2", false));
+        assertThat(response.status()).isEqualTo(SubmissionStatus.FAILED);
+        Map<String, Object> submission = jdbcTemplate.queryForMap(
+                "SELECT status, passed_count, total_count FROM submission WHERE assignment_id = ?", assignmentId);
+        assertThat(submission).containsEntry("status", "FAILED")
+                .containsEntry("passed_count", 1)
+                .containsEntry("total_count", 2);
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT r.task_name FROM grading_result r JOIN submission s ON s.id = r.submission_id
+                WHERE s.assignment_id = ? AND NOT r.is_passed
+                """, String.class, assignmentId)).containsExactly("Task 2");
+    }
+
+    @Test
+    void submitStreaming_withResultMissingIsPassed_shouldCountItAsFailed() {
+        // Given
+        WORKER.enqueue(ndjson("""
+                {"taskName": "Task 1"}
+                {"taskName": "Task 2", "isPassed": true}
+                """));
+
+        // When
+        SubmissionResponse response = submissionService.submitStreaming(assignmentId, request(), result -> {});
+
+        // Then
+        assertThat(response.gradingResults()).containsExactly(
+                new GradingResultResponse("Task 1", false),
+                new GradingResultResponse("Task 2", true));
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT passed_count, total_count FROM submission WHERE assignment_id = ?", assignmentId))
+                .containsEntry("passed_count", 1)
+                .containsEntry("total_count", 2);
+        assertThat(jdbcTemplate.queryForMap("""
+                SELECT attempt_count, passed_count FROM assignment_task_stats
+                WHERE assignment_id = ? AND task_name = 'Task 1'
+                """, assignmentId))
+                .containsEntry("attempt_count", 1L)
+                .containsEntry("passed_count", 0L);
+    }
+
+    @Test
+    void submitAssignmentStream_shouldSendResultEventsThenCompleted() throws Exception {
+        // Given
+        WORKER.enqueue(ndjson("""
+                {"taskName": "Task 1", "isPassed": true}
+                {"taskName": "Task 2", "isPassed": false}
+                """));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/assignments/{id}/submissions/stream", assignmentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content("{\"userId\": \"%s\", \"url\": \"https://student.example.com\"}"
+                                .formatted(UUID.randomUUID())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(TimeUnit.SECONDS.toMillis(10));
+
+        // Then
+        String events = result.getResponse().getContentAsString();
+        assertThat(events.split("event:result", -1)).hasSize(3);
+        assertThat(events.indexOf("event:completed")).isGreaterThan(events.lastIndexOf("event:result"));
+        assertThat(submissionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void submitAssignmentStream_withUnknownAssignment_shouldRespondNotFoundWithoutStreaming() throws Exception {
+        // When / Then
+        mockMvc.perform(post("/api/assignments/{id}/submissions/stream", UUID.randomUUID())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": \"%s\", \"url\": \"https://student.example.com\"}"
+                                .formatted(UUID.randomUUID())))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void submitAssignmentStream_whenAllStreamingSlotsBusy_shouldRejectWithRetryAfter() throws Exception {
+        // Given (the only slot is held by a stream the worker answers slowly)
+        WORKER.enqueue(ndjson("""
+                {"taskName": "Task 1", "isPassed": true}
+                {"taskName": "Task 2", "isPassed": true}
+                """).setHeadersDelay(1, TimeUnit.SECONDS));
+        String body = "{\"userId\": \"%s\", \"url\": \"https://student.example.com\"}";
+        MvcResult first = mockMvc.perform(post("/api/assignments/{id}/submissions/stream", assignmentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content(body.formatted(UUID.randomUUID())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // When / Then
+        mockMvc.perform(post("/api/assignments/{id}/submissions/stream", assignmentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                        .content(body.formatted(UUID.randomUUID())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        first.getAsyncResult(TimeUnit.SECONDS.toMillis(10));
+        assertThat(first.getResponse().getContentAsString()).contains("event:completed");
+    }
+}
@@ -0,0 +1,118 @@
+package gdgoc.onewave.connectable.global.ratelimit;
+
+import gdgoc.onewave.connectable.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Runs the upsert and refill SQL of {@link JdbcRateLimitStore} against real PostgreSQL.
+ */
+class JdbcRateLimitStoreTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM rate_limit_bucket");
+        store = new JdbcRateLimitStore(jdbcTemplate);
+    }
+
+    private double tokens(String key) {
+        return jdbcTemplate.queryForObject("SELECT tokens FROM rate_limit_bucket WHERE bucket_key = ?",
+                Double.class, key);
+    }
+
+    @Test
+    void tryAcquire_beyondCapacity_shouldRejectWithSecondsUntilNextToken() {
+        // Given (3 per burst, one token every 20 seconds)
+        RateLimit limit = RateLimit.perMinute(3, 3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryAcquire("user:a", limit)).isZero();
+        }
+
+        // When
+        long retryAfter = store.tryAcquire("user:a", limit);
+
+        // Then
+        assertThat(retryAfter).isBetween(19L, 20L);
+        assertThat(tokens("user:a")).isLessThan(1.0);
+        assertThat(store.tryAcquire("user:b", limit)).isZero();
+    }
+
+    @Test
+    void tryAcquire_afterRefillTime_shouldTakeRefilledToken() {
+        // Given (one token every 10 ms)
+        RateLimit limit = new RateLimit(1, 100);
+        assertThat(store.tryAcquire("user:a", limit)).isZero();
+        jdbcTemplate.update("UPDATE rate_limit_bucket SET updated_at = updated_at - INTERVAL '1 second'");
+
+        // When
+        long retryAfter = store.tryAcquire("user:a", limit);
+
+        // Then (capped at capacity, so one refilled token was taken and none is left over)
+        assertThat(retryAfter).isZero();
+        assertThat(tokens("user:a")).isLessThan(1.0);
+    }
+
+    @Test
+    void refund_shouldReturnTokenWithoutExceedingCapacity() {
+        // Given
+        RateLimit limit = RateLimit.perMinute(2, 0.001);
+        assertThat(store.tryAcquire("user:a", limit)).isZero();
+        assertThat(store.tryAcquire("user:a", limit)).isZero();
+
+        // When
+        store.refund("user:a", limit);
+        store.refund("user:a", limit);
+        store.refund("user:a", limit);
+
+        // Then
+        assertThat(tokens("user:a")).isCloseTo(2.0, within(0.01));
+        assertThat(store.tryAcquire("user:a", limit)).isZero();
+        assertThat(store.tryAcquire("user:a", limit)).isZero();
+        assertThat(store.tryAcquire("user:a", limit)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_concurrently_shouldNeverOverdrawTheBucket() throws Exception {
+        // Given
+        RateLimit limit = RateLimit.perMinute(50, 0.001);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> {
+                    if (store.tryAcquire("assignment:x", limit) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(granted.get()).isEqualTo(50);
+    }
+}
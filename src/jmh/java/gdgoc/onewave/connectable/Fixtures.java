@@ -0,0 +1,41 @@
+package gdgoc.onewave.connectable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Realistic inputs shared by the JMH benchmarks (src/jmh/resources/fixtures).
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static byte[] bytes(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing fixture: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String text(String name) {
+        return new String(bytes(name), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sub-task names shaped like the ones instructors write ("Sub-task N: ...", ~40 chars).
+     */
+    public static List<String> subTasks(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> "Sub-task " + i + ": Verify todo list behaviour #" + i)
+                .toList();
+    }
+}
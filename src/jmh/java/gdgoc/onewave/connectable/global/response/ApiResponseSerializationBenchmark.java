@@ -0,0 +1,79 @@
+package gdgoc.onewave.connectable.global.response;
+
+import gdgoc.onewave.connectable.Fixtures;
+import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentListDataResponse;
+import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentListResponse;
+import gdgoc.onewave.connectable.domain.entity.SubmissionStatus;
+import gdgoc.onewave.connectable.domain.grading.dto.GradingResultResponse;
+import gdgoc.onewave.connectable.domain.submission.dto.SubmissionResponse;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link ApiResponse} envelopes serialized the way Spring MVC writes them (Jackson 3 JsonMapper),
+ * for the three most frequent responses: a graded submission, an assignment page and an error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    private JsonMapper jsonMapper;
+    private ApiResponse<SubmissionResponse> submission;
+    private ApiResponse<AssignmentListDataResponse> assignmentPage;
+    private ApiResponse<Void> error;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+
+        List<GradingResultResponse> results = Fixtures.subTasks(10).stream()
+                .map(task -> new GradingResultResponse(task, task.hashCode() % 3 != 0))
+                .toList();
+        int passed = (int) results.stream().filter(GradingResultResponse::isPassed).count();
+        submission = ApiResponse.success(new SubmissionResponse(
+                UUID.randomUUID(),
+                "https://storage.googleapis.com/connectable/submissions/" + UUID.randomUUID() + "/index.html",
+                SubmissionStatus.COMPLETED,
+                results,
+                SubmissionResponse.GradingSummary.of(passed, results.size()),
+                LocalDateTime.now()));
+
+        String content = Fixtures.text("assignment-content.md").substring(0, 200);
+        List<AssignmentListResponse> items = IntStream.range(0, 20)
+                .mapToObj(i -> new AssignmentListResponse(UUID.randomUUID(), "Todo 앱 과제 #" + i, content,
+                        LocalDateTime.now().minusDays(i)))
+                .toList();
+        assignmentPage = ApiResponse.success(new AssignmentListDataResponse(items, 0, 20, 137, 7, "eyJjIjoiMjAyNi0xMC0xOVQwNDoxNzowMCJ9"));
+
+        error = ApiResponse.error(ErrorCode.ASSIGNMENT_NOT_FOUND);
+    }
+
+    @Benchmark
+    public byte[] submissionResponse() {
+        return jsonMapper.writeValueAsBytes(submission);
+    }
+
+    @Benchmark
+    public byte[] assignmentPage() {
+        return jsonMapper.writeValueAsBytes(assignmentPage);
+    }
+
+    @Benchmark
+    public byte[] errorResponse() {
+        return jsonMapper.writeValueAsBytes(error);
+    }
+}
@@ -0,0 +1,63 @@
+package gdgoc.onewave.connectable.infrastructure.ai;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gdgoc.onewave.connectable.Fixtures;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt building and response post-processing around the Gemini call (the HTTP call itself is
+ * not measured).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeminiServiceBenchmark {
+
+    @Param({"5", "20"})
+    private int subTaskCount;
+
+    private GeminiService geminiService;
+    private List<String> subTasks;
+    private String assignmentContent;
+    private Map<String, Object> response;
+    private String fencedScript;
+
+    @Setup
+    public void setUp() throws Exception {
+        geminiService = new GeminiService(null, null, ObservationRegistry.NOOP);
+        subTasks = Fixtures.subTasks(subTaskCount);
+        assignmentContent = Fixtures.text("assignment-content.md");
+        response = new ObjectMapper().readValue(Fixtures.bytes("gemini-response.json"), new TypeReference<>() {
+        });
+        fencedScript = geminiService.extractScriptFromResponse(response);
+        fencedScript = "```typescript\n" + fencedScript + "\n```";
+    }
+
+    @Benchmark
+    public String buildPrompt() {
+        return geminiService.buildPrompt(subTasks, assignmentContent);
+    }
+
+    @Benchmark
+    public String extractScriptFromResponse() {
+        return geminiService.extractScriptFromResponse(response);
+    }
+
+    @Benchmark
+    public String stripMarkdownCodeBlocks() {
+        return geminiService.stripMarkdownCodeBlocks(fencedScript);
+    }
+}
@@ -0,0 +1,102 @@
+package gdgoc.onewave.connectable.infrastructure.storage;
+
+import gdgoc.onewave.connectable.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * The local file-system steps of a zip upload. The extracted tree mimics a create-react-app build
+ * zipped with its project folder ({@code my-app/build/...}, ~80 files) and an index.html that
+ * references a {@code /my-app/} prefix that does not exist on disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GcsStorageServiceBenchmark {
+
+    private static final int ASSET_DIRS = 4;
+    private static final int FILES_PER_DIR = 20;
+
+    private GcsStorageService gcsStorageService;
+    private Path workDir;
+    private Path extractedDir;
+    private Path uploadRoot;
+    private Path listingDir;
+    private String originalIndexHtml;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        gcsStorageService = new GcsStorageService(null, null, null);
+        workDir = Files.createTempDirectory("gcs-bench-");
+
+        extractedDir = workDir.resolve("extracted");
+        uploadRoot = extractedDir.resolve("my-app").resolve("build");
+        originalIndexHtml = Fixtures.text("react-index.html");
+        createAssetTree(uploadRoot);
+        Files.createDirectories(extractedDir.resolve("__MACOSX"));
+        Files.writeString(extractedDir.resolve(".DS_Store"), "");
+        Files.writeString(uploadRoot.resolve("index.html"), originalIndexHtml);
+
+        listingDir = workDir.resolve("listing");
+        createAssetTree(listingDir);
+    }
+
+    /**
+     * rewritePathsInHtml rewrites the file in place, so each call starts from the original HTML.
+     * The method itself takes hundreds of microseconds, so per-invocation setup does not skew it.
+     */
+    @Setup(Level.Invocation)
+    public void resetIndexHtml() throws IOException {
+        Files.writeString(uploadRoot.resolve("index.html"), originalIndexHtml);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public Path findUploadRoot() throws IOException {
+        return gcsStorageService.findUploadRoot(extractedDir);
+    }
+
+    @Benchmark
+    public void generateIndexHtml() throws IOException {
+        gcsStorageService.generateIndexHtml(listingDir);
+    }
+
+    @Benchmark
+    public void rewritePathsInHtml() throws IOException {
+        gcsStorageService.rewritePathsInHtml(uploadRoot.resolve("index.html"), uploadRoot);
+    }
+
+    private static void createAssetTree(Path root) throws IOException {
+        String[][] dirs = {{"static/js", "js"}, {"static/css", "css"}, {"static/media", "svg"}, {"assets", "png"}};
+        for (int d = 0; d < ASSET_DIRS; d++) {
+            Path dir = root.resolve(dirs[d][0]);
+            Files.createDirectories(dir);
+            for (int i = 0; i < FILES_PER_DIR; i++) {
+                Files.writeString(dir.resolve("chunk-" + i + "." + Integer.toHexString(i * 7919) + "." + dirs[d][1]),
+                        "/* asset " + i + " */");
+            }
+        }
+        Files.writeString(root.resolve("manifest.json"), "{\"short_name\":\"Todos\"}");
+        Files.writeString(root.resolve("favicon.ico"), "");
+    }
+}
@@ -0,0 +1,64 @@
+package gdgoc.onewave.connectable.infrastructure.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gdgoc.onewave.connectable.Fixtures;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Worker response parsing: the DataBuffer path used by {@link GradingWorkerClient} against the
+ * previous decode-to-String-then-parse path. Compare {@code gc.alloc.rate.norm} between the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GradingWorkerClientBenchmark {
+
+    @Param({"10", "200"})
+    private int resultCount;
+
+    private GradingWorkerClient gradingWorkerClient;
+    private ObjectMapper objectMapper;
+    private byte[] responseBytes;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        gradingWorkerClient = new GradingWorkerClient(null, objectMapper, null, ObservationRegistry.NOOP, null, null);
+
+        List<String> subTasks = Fixtures.subTasks(resultCount);
+        String results = subTasks.stream()
+                .map(task -> "{\"taskName\":\"%s\",\"isPassed\":%s}".formatted(task, task.length() % 2 == 0))
+                .collect(Collectors.joining(","));
+        responseBytes = """
+                {"submissionId":"%s","success":true,"results":[%s],"errorMessage":null}
+                """.formatted(UUID.randomUUID(), results).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public GradingWorkerClient.GradingResponse parseDataBuffer() throws Exception {
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(responseBytes);
+        return gradingWorkerClient.readResponse(buffer);
+    }
+
+    @Benchmark
+    public GradingWorkerClient.GradingResponse parseViaStringBaseline() throws Exception {
+        String body = new String(responseBytes, StandardCharsets.UTF_8);
+        return objectMapper.readValue(body, GradingWorkerClient.GradingResponse.class);
+    }
+}
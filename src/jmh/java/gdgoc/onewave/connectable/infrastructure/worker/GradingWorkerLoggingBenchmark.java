@@ -0,0 +1,150 @@
+package gdgoc.onewave.connectable.infrastructure.worker;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gdgoc.onewave.connectable.Fixtures;
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Log cost of one grading call: the per-line logging {@link GradingWorkerClient} did before
+ * (16 INFO lines plus one per result, including the raw body) against its single summary
+ * event. Events go through logback with a Boot-like pattern into a byte-counting sink, so the
+ * figures cover formatting and encoding but not disk I/O.
+ *
+ * <p>Compare {@code gc.alloc.rate.norm}; each trial also prints {@code log bytes/op}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GradingWorkerLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level --- [%15.15thread] "
+            + "%-40.40logger{39} : %msg %kvp%n";
+    private static final Logger BASELINE_LOG = LoggerFactory.getLogger(GradingWorkerClient.class.getName() + ".Baseline");
+    private static final String ENDPOINT = "https://worker.run.app/grade";
+
+    @Param({"10", "200"})
+    private int resultCount;
+
+    private GradingWorkerClient gradingWorkerClient;
+    private WorkerPool.Member worker;
+    private GradingWorkerClient.GradingRequest request;
+    private GradingWorkerClient.GradingResponse response;
+    private String rawBody;
+    private CountingOutputStream sink;
+    private long operations;
+
+    @Setup
+    public void setUp() throws Exception {
+        sink = new CountingOutputStream();
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(sink);
+        appender.start();
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        gradingWorkerClient = new GradingWorkerClient(null, objectMapper, null, ObservationRegistry.NOOP, null, null);
+        worker = new WorkerPool(new SimpleMeterRegistry(), "benchmark.pool", List.of("https://worker.run.app"),
+                WorkerPool.Settings.DEFAULTS).choose(null);
+
+        List<String> subTasks = Fixtures.subTasks(resultCount);
+        String results = subTasks.stream()
+                .map(task -> "{\"taskName\":\"%s\",\"isPassed\":%s}".formatted(task, task.length() % 2 == 0))
+                .collect(Collectors.joining(","));
+        UUID submissionId = UUID.randomUUID();
+        rawBody = """
+                {"submissionId":"%s","success":true,"results":[%s],"errorMessage":null}
+                """.formatted(submissionId, results);
+        request = new GradingWorkerClient.GradingRequest(submissionId, "https://student.example.com",
+                Fixtures.text("gemini-response.json"), subTasks);
+        response = objectMapper.readValue(rawBody, GradingWorkerClient.GradingResponse.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.printf("log bytes/op: %d%n", operations == 0 ? 0 : sink.count / operations);
+    }
+
+    /**
+     * The logging removed from GradingWorkerClient.grade, line for line.
+     */
+    @Benchmark
+    public void perLineBaseline() {
+        BASELINE_LOG.info("==== Grading Worker Request ====");
+        BASELINE_LOG.info("Endpoint: {}", ENDPOINT);
+        BASELINE_LOG.info("Submission ID: {}", request.submissionId());
+        BASELINE_LOG.info("Target URL: {}", request.targetUrl());
+        BASELINE_LOG.info("Playwright Script length: {} characters", request.playwrightScript().length());
+        BASELINE_LOG.info("Timeout: {} seconds", 60);
+        BASELINE_LOG.info("==== Raw Response Body ====");
+        BASELINE_LOG.info("Response length: {} characters", rawBody.length());
+        BASELINE_LOG.info("Response body:\n{}", rawBody);
+        BASELINE_LOG.info("===========================");
+        BASELINE_LOG.info("==== Grading Worker Response ====");
+        BASELINE_LOG.info("Submission ID: {}", response.submissionId());
+        BASELINE_LOG.info("Success: {}", response.success());
+        BASELINE_LOG.info("Error Message: {}", response.errorMessage());
+        BASELINE_LOG.info("Results count: {}", response.results().size());
+        for (int i = 0; i < response.results().size(); i++) {
+            GradingWorkerClient.GradingResultItem item = response.results().get(i);
+            BASELINE_LOG.info("Result[{}]: taskName='{}', isPassed={}", i, item.taskName(), item.isPassed());
+        }
+        BASELINE_LOG.info("================================");
+        operations++;
+    }
+
+    @Benchmark
+    public void structuredSummary() {
+        gradingWorkerClient.logSummary(request, worker, OutcomeTimer.SUCCESS, System.nanoTime(),
+                rawBody.length(), null, response);
+        operations++;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
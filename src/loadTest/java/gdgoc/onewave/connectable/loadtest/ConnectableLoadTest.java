@@ -0,0 +1,180 @@
+package gdgoc.onewave.connectable.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the real application (embedded Tomcat, Hibernate, HikariCP, WebClient pools) against
+ * PostgreSQL in a container, MockWebServer fakes for the grading worker and Gemini, and an
+ * in-memory GCS. Submission and assignment-creation traffic run concurrently at their target
+ * rates; the report lands in build/reports/load-test/.
+ *
+ * <p>Run with {@code ./gradlew loadTest}; see {@link LoadTestSettings} for the knobs.
+ */
+@Testcontainers
+@Import(InMemoryStorageConfig.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConnectableLoadTest {
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+
+    @Container
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    static final MockWebServer WORKER =
+            start(new FakeGradingWorker(SETTINGS.workerLatency(), SETTINGS.workerErrorRate()));
+    static final MockWebServer GEMINI =
+            start(new FakeGemini(SETTINGS.geminiLatency(), SETTINGS.geminiErrorRate()));
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("worker.url", () -> WORKER.url("").toString().replaceAll("/$", ""));
+        registry.add("gemini.base-url", () -> GEMINI.url("/v1/models/").toString());
+        registry.add("gemini.api-key", () -> "load-test");
+        registry.add("gcs.bucket-name", () -> "load-test");
+        registry.add("submission.probe.enabled", () -> "false");
+        registry.add("submission.rate-limit.enabled", () -> "false");
+        registry.add("worker.warmup.enabled", () -> "false");
+        registry.add("server.tomcat.mbeanregistry.enabled", () -> "true");
+        registry.add("logging.level.gdgoc.onewave.connectable", () -> "WARN");
+    }
+
+    @AfterAll
+    static void shutdownFakes() throws IOException {
+        WORKER.shutdown();
+        GEMINI.shutdown();
+    }
+
+    @Test
+    void submissionsAndAssignmentCreation() throws Exception {
+        String baseUrl = "http://localhost:" + port;
+        List<String> assignmentIds = new CopyOnWriteArrayList<>(seedAssignments(baseUrl));
+        assertThat(assignmentIds).isNotEmpty();
+
+        OpenModelDriver driver = new OpenModelDriver(httpClient);
+        ExecutorService scenarios = Executors.newFixedThreadPool(2);
+        List<OpenModelDriver.Result> results = new ArrayList<>();
+        try (SaturationSampler sampler = new SaturationSampler(httpClient, baseUrl).start()) {
+            Future<OpenModelDriver.Result> submissions = scenarios.submit(() -> driver.run(
+                    "submission", SETTINGS.submissionRps(), SETTINGS.warmup(), SETTINGS.duration(),
+                    () -> submissionRequest(baseUrl, assignmentIds)));
+            Future<OpenModelDriver.Result> creations = scenarios.submit(() -> driver.run(
+                    "assignment-create", SETTINGS.assignmentCreateRps(), SETTINGS.warmup(), SETTINGS.duration(),
+                    () -> createAssignmentRequest(baseUrl)));
+            results.add(submissions.get());
+            results.add(creations.get());
+
+            String report = LoadReport.render(SETTINGS, results, sampler.snapshot());
+            System.out.println(report);
+            System.out.println("Report written to " + LoadReport.write(report).toAbsolutePath());
+        } finally {
+            scenarios.shutdownNow();
+        }
+
+        assertThat(results.get(0).succeeded()).isPositive();
+    }
+
+    private List<String> seedAssignments(String baseUrl) {
+        List<CompletableFuture<String>> created = IntStream.range(0, SETTINGS.seedAssignments())
+                .mapToObj(i -> httpClient.sendAsync(createAssignmentRequest(baseUrl), HttpResponse.BodyHandlers.ofString())
+                        .thenApply(response -> response.statusCode() == 201 ? readId(response.body()) : null))
+                .toList();
+        return created.stream()
+                .map(CompletableFuture::join)
+                .filter(id -> id != null)
+                .toList();
+    }
+
+    private HttpRequest createAssignmentRequest(String baseUrl) {
+        List<String> subTasks = IntStream.rangeClosed(1, SETTINGS.subTasksPerAssignment())
+                .mapToObj(i -> "Sub-task " + i + ": verify todo behaviour " + i)
+                .toList();
+        return jsonPost(baseUrl + "/api/assignments", Map.of(
+                "userId", UUID.randomUUID().toString(),
+                "title", "Load test assignment",
+                "content", "# Todo app\nBuild a todo list with add, toggle and delete.",
+                "subTasks", subTasks));
+    }
+
+    private HttpRequest submissionRequest(String baseUrl, List<String> assignmentIds) {
+        String assignmentId = assignmentIds.get(ThreadLocalRandom.current().nextInt(assignmentIds.size()));
+        return jsonPost(baseUrl + "/api/assignments/" + assignmentId + "/submissions", Map.of(
+                "userId", UUID.randomUUID().toString(),
+                "url", "https://example.com/submissions/" + UUID.randomUUID() + "/index.html"));
+    }
+
+    private HttpRequest jsonPost(String url, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMinutes(2))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String readId(String body) {
+        try {
+            return objectMapper.readTree(body).path("data").path("id").asText(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MockWebServer start(Dispatcher dispatcher) {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(dispatcher);
+        try {
+            server.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return server;
+    }
+}
@@ -0,0 +1,63 @@
+package gdgoc.onewave.connectable.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for {@code models/{model}:generateContent}: returns a fenced Playwright script
+ * (~2KB, like real output) after a sampled latency.
+ */
+class FakeGemini extends Dispatcher {
+
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final String responseBody;
+
+    FakeGemini(LatencyDistribution latency, double errorRate) {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.responseBody = buildResponse();
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        if (request.getPath() == null || !request.getPath().endsWith(":generateContent")) {
+            return new MockResponse().setResponseCode(404);
+        }
+        MockResponse response = ThreadLocalRandom.current().nextDouble() < errorRate
+                ? new MockResponse().setResponseCode(503).setBody("{\"error\":{\"code\":503,\"status\":\"UNAVAILABLE\"}}")
+                : new MockResponse().setBody(responseBody);
+        return response.addHeader("Content-Type", "application/json")
+                .setHeadersDelay(latency.sampleMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static String buildResponse() {
+        StringBuilder script = new StringBuilder("```typescript\n");
+        for (int i = 1; i <= 5; i++) {
+            script.append("// Task: Sub-task ").append(i).append("\n")
+                    .append("test('Sub-task ").append(i).append("', async ({ page }) => {\n")
+                    .append("  await page.getByTestId('todo-input').fill('item ").append(i).append("');\n")
+                    .append("  await page.getByTestId('add-button').click();\n")
+                    .append("  await expect(page.getByTestId('todo-list').locator('li').last()).toContainText('item ")
+                    .append(i).append("');\n")
+                    .append("});\n\n");
+        }
+        script.append("```");
+        try {
+            return new ObjectMapper().writeValueAsString(Map.of(
+                    "candidates", List.of(Map.of(
+                            "content", Map.of("role", "model", "parts", List.of(Map.of("text", script.toString()))),
+                            "finishReason", "STOP")),
+                    "modelVersion", "gemini-2.5-pro"));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
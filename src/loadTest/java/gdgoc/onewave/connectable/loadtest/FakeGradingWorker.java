@@ -0,0 +1,61 @@
+package gdgoc.onewave.connectable.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stand-in for the Cloud Run grading worker: answers {@code POST /grade} after a sampled
+ * latency, failing a configurable fraction of calls with HTTP 500.
+ */
+class FakeGradingWorker extends Dispatcher {
+
+    private static final double PASS_PROBABILITY = 0.7;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyDistribution latency;
+    private final double errorRate;
+
+    FakeGradingWorker(LatencyDistribution latency, double errorRate) {
+        this.latency = latency;
+        this.errorRate = errorRate;
+    }
+
+    @Override
+    public MockResponse dispatch(RecordedRequest request) {
+        if (!"/grade".equals(request.getPath())) {
+            return new MockResponse().setResponseCode(404);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        MockResponse response = random.nextDouble() < errorRate
+                ? new MockResponse().setResponseCode(500).setBody("Internal Server Error")
+                : new MockResponse().setBody(gradingResponse(request)).addHeader("Content-Type", "application/json");
+        return response.setHeadersDelay(latency.sampleMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private String gradingResponse(RecordedRequest request) {
+        try {
+            JsonNode body = objectMapper.readTree(request.getBody().readUtf8());
+            ObjectNode response = objectMapper.createObjectNode();
+            response.put("submissionId", body.path("submissionId").asText());
+            response.put("success", true);
+            ArrayNode results = response.putArray("results");
+            for (JsonNode task : body.path("subTasks")) {
+                results.addObject()
+                        .put("taskName", task.asText())
+                        .put("isPassed", ThreadLocalRandom.current().nextDouble() < PASS_PROBABILITY);
+            }
+            response.putNull("errorMessage");
+            return objectMapper.writeValueAsString(response);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected grading request", e);
+        }
+    }
+}
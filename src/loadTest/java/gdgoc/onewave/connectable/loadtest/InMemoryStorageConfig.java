@@ -0,0 +1,20 @@
+package gdgoc.onewave.connectable.loadtest;
+
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.contrib.nio.testing.LocalStorageHelper;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Replaces the GCS client with google-cloud-nio's in-memory fake so uploads never leave the JVM.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class InMemoryStorageConfig {
+
+    @Bean
+    @Primary
+    Storage inMemoryStorage() {
+        return LocalStorageHelper.getOptions().getService();
+    }
+}
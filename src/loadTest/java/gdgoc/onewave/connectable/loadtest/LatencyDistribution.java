@@ -0,0 +1,31 @@
+package gdgoc.onewave.connectable.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Log-normal service time fitted from a median and a p99, which matches the long right tail
+ * of Playwright runs and LLM calls better than a fixed or uniform delay.
+ */
+record LatencyDistribution(double mu, double sigma, long capMillis) {
+
+    private static final double Z_99 = 2.326;
+
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        double mu = Math.log(median.toMillis());
+        double sigma = Math.max(0, Math.log((double) p99.toMillis() / median.toMillis()) / Z_99);
+        // Cap at 5x p99 so a single sample cannot stall a run
+        return new LatencyDistribution(mu, sigma, p99.toMillis() * 5);
+    }
+
+    long sampleMillis() {
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        return Math.min(capMillis, Math.round(Math.exp(mu + sigma * gaussian)));
+    }
+
+    @Override
+    public String toString() {
+        return "lognormal(median=%dms, p99=%dms)".formatted(
+                Math.round(Math.exp(mu)), Math.round(Math.exp(mu + Z_99 * sigma)));
+    }
+}
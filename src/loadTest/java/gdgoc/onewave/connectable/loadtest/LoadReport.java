@@ -0,0 +1,57 @@
+package gdgoc.onewave.connectable.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders a run as plain text and writes it to {@code build/reports/load-test/}.
+ */
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    static String render(LoadTestSettings settings, List<OpenModelDriver.Result> results,
+                         Map<String, SaturationSampler.Stats> saturation) {
+        StringBuilder out = new StringBuilder();
+        out.append("== Load test ").append(LocalDateTime.now().withNano(0)).append(" ==\n");
+        out.append("worker: ").append(settings.workerLatency())
+                .append(", error rate ").append(settings.workerErrorRate()).append('\n');
+        out.append("gemini: ").append(settings.geminiLatency())
+                .append(", error rate ").append(settings.geminiErrorRate()).append('\n');
+        out.append("warmup ").append(settings.warmup().toSeconds()).append("s, measured ")
+                .append(settings.duration().toSeconds()).append("s\n\n");
+
+        out.append(String.format("%-20s %8s %8s %8s %10s %10s %10s %10s %10s %8s%n",
+                "scenario", "target/s", "sent", "ok", "ok/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "timeout"));
+        for (OpenModelDriver.Result result : results) {
+            out.append(String.format("%-20s %8.1f %8d %8d %10.2f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                    result.scenario(), result.targetRps(), result.sent(), result.succeeded(), result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(95), result.percentileMillis(99),
+                    result.latencyMicros().getMaxValue() / 1000.0, result.timedOut()));
+        }
+        out.append('\n');
+        for (OpenModelDriver.Result result : results) {
+            out.append(result.scenario()).append(" status counts: ").append(result.statusCounts()).append('\n');
+        }
+
+        out.append("\nSaturation (sampled every 1s)\n");
+        out.append(String.format("%-75s %10s %10s%n", "metric", "mean", "peak"));
+        saturation.forEach((metric, stats) ->
+                out.append(String.format("%-75s %10.1f %10.1f%n", metric, stats.mean(), stats.max())));
+        return out.toString();
+    }
+
+    static Path write(String report) throws IOException {
+        Path dir = Path.of("build", "reports", "load-test");
+        Files.createDirectories(dir);
+        Path file = dir.resolve("load-test-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+        Files.writeString(file, report);
+        return file;
+    }
+}
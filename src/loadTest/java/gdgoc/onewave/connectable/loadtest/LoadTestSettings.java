@@ -0,0 +1,50 @@
+package gdgoc.onewave.connectable.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * Harness knobs, read from {@code -Dloadtest.*} system properties (forwarded by the Gradle task).
+ */
+record LoadTestSettings(
+        double submissionRps,
+        double assignmentCreateRps,
+        Duration warmup,
+        Duration duration,
+        int seedAssignments,
+        int subTasksPerAssignment,
+        LatencyDistribution workerLatency,
+        double workerErrorRate,
+        LatencyDistribution geminiLatency,
+        double geminiErrorRate
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                doubleProperty("loadtest.submission.rps", 20),
+                doubleProperty("loadtest.assignment-create.rps", 1),
+                durationProperty("loadtest.warmup", "10s"),
+                durationProperty("loadtest.duration", "60s"),
+                (int) doubleProperty("loadtest.seed-assignments", 20),
+                (int) doubleProperty("loadtest.sub-tasks", 5),
+                LatencyDistribution.logNormal(
+                        durationProperty("loadtest.worker.latency.median", "1500ms"),
+                        durationProperty("loadtest.worker.latency.p99", "8s")),
+                doubleProperty("loadtest.worker.error-rate", 0.02),
+                LatencyDistribution.logNormal(
+                        durationProperty("loadtest.gemini.latency.median", "4s"),
+                        durationProperty("loadtest.gemini.latency.p99", "20s")),
+                doubleProperty("loadtest.gemini.error-rate", 0.01)
+        );
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static Duration durationProperty(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(key, defaultValue));
+    }
+}
@@ -0,0 +1,105 @@
+package gdgoc.onewave.connectable.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator: requests are issued on a fixed arrival schedule regardless of how
+ * many are still in flight, and latency is measured from the <em>intended</em> send time so a
+ * stalled server is not hidden by coordinated omission.
+ */
+class OpenModelDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient httpClient;
+
+    OpenModelDriver(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    Result run(String scenario, double rps, Duration warmup, Duration duration, Supplier<HttpRequest> requests) {
+        Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(10), 3);
+        Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        LongAdder completed = new LongAdder();
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        int sent = 0;
+
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intended >= measureFrom;
+            long intendedStart = intended;
+            CompletableFuture<HttpResponse<Void>> call =
+                    httpClient.sendAsync(requests.get(), HttpResponse.BodyHandlers.discarding());
+            if (measured) {
+                sent++;
+                inFlight.add(call.whenComplete((response, error) -> {
+                    latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart));
+                    String status = error != null ? error.getClass().getSimpleName() : String.valueOf(response.statusCode());
+                    statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                    if (error == null && response.statusCode() < 400) {
+                        completed.increment();
+                    }
+                }));
+            }
+        }
+
+        long timedOut = 0;
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                    .get(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOut = inFlight.stream().filter(future -> !future.isDone()).count();
+        } catch (Exception ignored) {
+            // individual failures are already counted per status
+        }
+
+        Map<String, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new Result(scenario, rps, duration, sent, completed.sum(), timedOut, statusCounts, latencyMicros);
+    }
+
+    record Result(
+            String scenario,
+            double targetRps,
+            Duration duration,
+            long sent,
+            long succeeded,
+            long timedOut,
+            Map<String, Long> statusCounts,
+            Histogram latencyMicros
+    ) {
+
+        double throughput() {
+            return succeeded / (duration.toMillis() / 1000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
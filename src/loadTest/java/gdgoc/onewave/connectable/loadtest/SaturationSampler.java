@@ -0,0 +1,105 @@
+package gdgoc.onewave.connectable.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls {@code /actuator/metrics} once a second for thread-pool, connection-pool and in-flight
+ * gauges, keeping the mean and peak of each over the run.
+ */
+class SaturationSampler implements AutoCloseable {
+
+    /** Metric name plus optional {@code tag=key:value} filter, as accepted by the actuator endpoint. */
+    static final List<String> METRICS = List.of(
+            "tomcat.threads.busy",
+            "tomcat.threads.config.max",
+            "hikaricp.connections.active",
+            "hikaricp.connections.pending",
+            "hikaricp.connections.max",
+            "reactor.netty.connection.provider.active.connections?tag=name:grading-worker",
+            "reactor.netty.connection.provider.pending.connections?tag=name:grading-worker",
+            "reactor.netty.connection.provider.active.connections?tag=name:gemini",
+            "grading.worker.requests.in.flight",
+            "gemini.generate.in.flight",
+            "jvm.threads.live"
+    );
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    SaturationSampler(HttpClient httpClient, String baseUrl) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+    }
+
+    SaturationSampler start() {
+        scheduler.scheduleAtFixedRate(this::sample, 0, 1, TimeUnit.SECONDS);
+        return this;
+    }
+
+    synchronized Map<String, Stats> snapshot() {
+        return new LinkedHashMap<>(stats);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void sample() {
+        for (String metric : METRICS) {
+            try {
+                HttpResponse<String> response = httpClient.send(
+                        HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + metric)).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    continue;
+                }
+                JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+                if (measurements.isArray() && !measurements.isEmpty()) {
+                    record(metric, measurements.get(0).path("value").asDouble());
+                }
+            } catch (Exception ignored) {
+                // metric not registered (yet); keep sampling the rest
+            }
+        }
+    }
+
+    private synchronized void record(String metric, double value) {
+        stats.computeIfAbsent(metric, key -> new Stats()).add(value);
+    }
+
+    static final class Stats {
+        private double sum;
+        private long count;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(double value) {
+            sum += value;
+            count++;
+            max = Math.max(max, value);
+        }
+
+        double mean() {
+            return count == 0 ? 0 : sum / count;
+        }
+
+        double max() {
+            return max;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package gdgoc.onewave.connectable.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import gdgoc.onewave.connectable.global.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces Boot's single pool with the primary pool, an optional read replica pool and a
+ * router between them (see {@link ReplicaRoutingDataSource}). JPA and JdbcTemplate use the
+ * {@code @Primary} {@link #dataSource}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Configured from {@code spring.datasource.*} and {@code spring.datasource.hikari.*} as
+     * Boot's own pool was.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${spring.datasource.driver-class-name:org.postgresql.Driver}") String driverClassName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("primary");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driverClassName);
+        return dataSource;
+    }
+
+    /**
+     * Without {@code spring.datasource.replica.url} everything is routed to the primary.
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.replica.url:}") String url,
+            @Value("${spring.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${spring.datasource.replica.password:${spring.datasource.password}}") String password,
+            @Value("${spring.datasource.driver-class-name:org.postgresql.Driver}") String driverClassName,
+            @Value("${spring.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${spring.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${spring.datasource.replica.connection-timeout:3s}") Duration connectionTimeout) {
+        HikariDataSource replica = null;
+        if (!url.isBlank()) {
+            replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(driverClassName);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            // Bounds how long the lag check can hold a scheduler thread when the replica hangs
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        }
+        return new ReplicaRoutingDataSource(meterRegistry, primaryDataSource, replica, maxLag);
+    }
+
+    /**
+     * Defers fetching the physical connection to the first statement, when the router can see
+     * whether the transaction is read-only.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,25 @@
+package gdgoc.onewave.connectable.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class FlywayConfig {
+
+    /**
+     * Migrates on startup unless {@code db.migrate-on-startup=false}. The CDS training run in
+     * Dockerfile.startup refreshes the context with no database, and under AOT
+     * {@code spring.flyway.enabled} is fixed at build time, so it needs a runtime switch.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${db.migrate-on-startup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            }
+        };
+    }
+}
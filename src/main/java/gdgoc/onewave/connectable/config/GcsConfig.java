@@ -4,11 +4,17 @@ import com.google.cloud.storage.Storage;
 import com.google.cloud.storage.StorageOptions;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 @Configuration
 public class GcsConfig {
 
+    /**
+     * Lazy: resolving credentials and building the client costs hundreds of milliseconds and
+     * is only needed once a file is actually uploaded.
+     */
     @Bean
+    @Lazy
     public Storage storage() {
         return StorageOptions.getDefaultInstance().getService();
     }
@@ -0,0 +1,93 @@
+package gdgoc.onewave.connectable.config;
+
+import gdgoc.onewave.connectable.global.concurrency.AdaptiveConcurrencyLimiter;
+import gdgoc.onewave.connectable.infrastructure.worker.WorkerPool;
+import gdgoc.onewave.connectable.infrastructure.worker.WorkerWarmer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+@Configuration
+@EnableScheduling
+public class GradingWorkerConfig {
+
+    /**
+     * Caps concurrent grading calls at what the worker has recently shown it can absorb.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter gradingWorkerLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${worker.limiter.initial-limit:10}") int initialLimit,
+            @Value("${worker.limiter.min-limit:2}") int minLimit,
+            @Value("${worker.limiter.max-limit:100}") int maxLimit,
+            @Value("${worker.limiter.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${worker.limiter.latency-threshold:30s}") Duration latencyThreshold,
+            @Value("${worker.limiter.max-queue-size:100}") int maxQueueSize,
+            @Value("${worker.limiter.max-wait:30s}") Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, "grading.worker.limiter",
+                new AdaptiveConcurrencyLimiter.Settings(initialLimit, minLimit, maxLimit, backoffRatio,
+                        latencyThreshold, maxQueueSize, maxWait));
+    }
+
+    /**
+     * Spreads grading calls across the configured worker services.
+     */
+    @Bean
+    public WorkerPool gradingWorkerPool(
+            MeterRegistry meterRegistry,
+            @Value("${worker.urls:${worker.url}}") List<String> urls,
+            @Value("${worker.routing.affinity:false}") boolean affinity,
+            @Value("${worker.routing.affinity-max-in-flight:20}") int affinityMaxInFlight,
+            @Value("${worker.routing.failure-threshold:5}") int failureThreshold,
+            @Value("${worker.routing.ejection-time:30s}") Duration ejectionTime,
+            @Value("${worker.routing.max-ejection-time:5m}") Duration maxEjectionTime,
+            @Value("${worker.routing.latency-decay:10s}") Duration latencyDecay,
+            @Value("${worker.routing.initial-latency:1s}") Duration initialLatency) {
+        return new WorkerPool(meterRegistry, "grading.worker.pool", urls,
+                new WorkerPool.Settings(affinity, affinityMaxInFlight, failureThreshold, ejectionTime,
+                        maxEjectionTime, latencyDecay, initialLatency));
+    }
+
+    /**
+     * Pings the workers ahead of expected gradings so they do not start cold.
+     *
+     * @param schedule cron expressions separated by {@code ;}, each opening a warm window
+     */
+    @Bean
+    public WorkerWarmer gradingWorkerWarmer(
+            @Qualifier("workerWebClient") WebClient workerWebClient,
+            WorkerPool gradingWorkerPool,
+            MeterRegistry meterRegistry,
+            @Value("${worker.warmup.enabled:true}") boolean enabled,
+            @Value("${worker.warmup.path:/health}") String path,
+            @Value("${worker.warmup.idle-interval:0}") Duration idleInterval,
+            @Value("${worker.warmup.active-interval:1m}") Duration activeInterval,
+            @Value("${worker.warmup.activity-window:15m}") Duration activityWindow,
+            @Value("${worker.warmup.activity-per-instance:20}") double activityPerInstance,
+            @Value("${worker.warmup.max-parallel-pings:5}") int maxParallelPings,
+            @Value("${worker.warmup.ping-timeout:30s}") Duration pingTimeout,
+            @Value("${worker.warmup.cold-start-threshold:2s}") Duration coldStartThreshold,
+            @Value("${worker.warmup.schedule:}") String schedule,
+            @Value("${worker.warmup.window-duration:30m}") Duration windowDuration,
+            @Value("${worker.warmup.zone:Asia/Seoul}") ZoneId zone) {
+        List<CronExpression> windows = Arrays.stream(schedule.split(";"))
+                .map(String::trim)
+                .filter(expression -> !expression.isEmpty())
+                .map(CronExpression::parse)
+                .toList();
+        return new WorkerWarmer(workerWebClient, gradingWorkerPool, meterRegistry, "grading.worker.warmup",
+                new WorkerWarmer.Settings(enabled, path, idleInterval, activeInterval, activityWindow,
+                        activityPerInstance, maxParallelPings, pingTimeout, coldStartThreshold, windows,
+                        windowDuration, zone));
+    }
+}
@@ -0,0 +1,39 @@
+package gdgoc.onewave.connectable.config;
+
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public OutcomeTimer gradingWorkerTimer(MeterRegistry meterRegistry) {
+        return new OutcomeTimer(meterRegistry, "grading.worker.requests", "Grading worker calls");
+    }
+
+    @Bean
+    public OutcomeTimer geminiTimer(MeterRegistry meterRegistry) {
+        return new OutcomeTimer(meterRegistry, "gemini.generate", "Gemini script generation calls");
+    }
+
+    @Bean
+    public OutcomeTimer submissionProbeTimer(MeterRegistry meterRegistry) {
+        return new OutcomeTimer(meterRegistry, "submission.probe", "Submission URL pre-flight probes");
+    }
+
+    @Bean
+    public OutcomeTimer gcsUploadTimer(MeterRegistry meterRegistry) {
+        return new OutcomeTimer(meterRegistry, "gcs.upload", "GCS zip extract and upload");
+    }
+
+    @Bean
+    public DistributionSummary gcsUploadBytes(MeterRegistry meterRegistry) {
+        return DistributionSummary.builder("gcs.upload.bytes")
+                .description("Bytes uploaded to GCS per object")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,82 @@
+package gdgoc.onewave.connectable.config;
+
+import gdgoc.onewave.connectable.domain.entity.AssignmentParticipant;
+import gdgoc.onewave.connectable.domain.entity.AssignmentTaskStats;
+import gdgoc.onewave.connectable.domain.submission.repository.LeaderboardEntryView;
+import gdgoc.onewave.connectable.infrastructure.worker.GradingWorkerClient;
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+import java.util.List;
+
+/**
+ * GraalVM native-image hints for what Spring AOT cannot infer on its own (see {@code ./gradlew nativeCompile}).
+ *
+ * <p>Entities, repositories, controllers and their request/response DTOs are contributed by Spring AOT;
+ * Hibernate, Netty, Caffeine and the Google Cloud client libraries ship reachability metadata.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.ConnectableRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class ConnectableRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final MemberCategory[] ALL_MEMBERS = MemberCategory.values();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Worker payloads are (de)serialized by our own ObjectMapper, outside Spring MVC
+            for (Class<?> type : List.of(
+                    GradingWorkerClient.GradingRequest.class,
+                    GradingWorkerClient.GradingResponse.class,
+                    GradingWorkerClient.GradingResultItem.class)) {
+                hints.reflection().registerType(type, ALL_MEMBERS);
+            }
+
+            // @IdClass keys are instantiated reflectively by Hibernate
+            hints.reflection().registerType(AssignmentTaskStats.Key.class, ALL_MEMBERS);
+            hints.reflection().registerType(AssignmentParticipant.Key.class, ALL_MEMBERS);
+
+            // hypersistence JsonType: created by Hibernate from @Type, reads its optional properties file
+            hints.reflection().registerType(JsonType.class, ALL_MEMBERS);
+            hints.reflection().registerTypeIfPresent(classLoader,
+                    "io.hypersistence.utils.hibernate.type.util.ObjectMapperWrapper", ALL_MEMBERS);
+            hints.reflection().registerTypeIfPresent(classLoader,
+                    "io.hypersistence.utils.hibernate.type.json.internal.JsonJavaTypeDescriptor", ALL_MEMBERS);
+            hints.reflection().registerTypeIfPresent(classLoader,
+                    "io.hypersistence.utils.hibernate.type.json.internal.JsonJdbcTypeDescriptor", ALL_MEMBERS);
+            hints.resources().registerPattern("hypersistence-utils.properties");
+
+            // Native leaderboard query returns an interface projection (JDK proxy)
+            hints.proxies().registerJdkProxy(
+                    TypeReference.of(LeaderboardEntryView.class),
+                    TypeReference.of(TargetAware.class),
+                    TypeReference.of(SpringProxy.class),
+                    TypeReference.of(DecoratingProxy.class));
+            hints.reflection().registerType(LeaderboardEntryView.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // Flyway scans the classpath for migrations
+            hints.resources().registerPattern("db/migration/*.sql");
+
+            // springdoc serves swagger-ui from the webjar and reads its version file
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+            hints.resources().registerPattern("META-INF/maven/org.webjars/swagger-ui/pom.properties");
+
+            // GCS client: default service/rpc factories are loaded by name
+            hints.reflection().registerTypeIfPresent(classLoader,
+                    "com.google.cloud.storage.StorageOptions$DefaultStorageFactory", ALL_MEMBERS);
+            hints.reflection().registerTypeIfPresent(classLoader,
+                    "com.google.cloud.storage.StorageOptions$DefaultStorageRpcFactory", ALL_MEMBERS);
+            hints.resources().registerPattern("com/google/api/client/googleapis/google-api-client.properties");
+            hints.resources().registerPattern("com/google/cloud/storage/*.properties");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package gdgoc.onewave.connectable.config;
+
+import gdgoc.onewave.connectable.global.ratelimit.InMemoryRateLimitStore;
+import gdgoc.onewave.connectable.global.ratelimit.JdbcRateLimitStore;
+import gdgoc.onewave.connectable.global.ratelimit.RateLimitStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * memory: per instance (a single Cloud Run instance, or local runs).
+     * jdbc: shared through PostgreSQL, so limits hold across all instances.
+     */
+    @Bean
+    public RateLimitStore submissionRateLimitStore(
+            @Value("${submission.rate-limit.store:memory}") String store,
+            ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        if ("jdbc".equalsIgnoreCase(store)) {
+            return new JdbcRateLimitStore(jdbcTemplate.getObject());
+        }
+        return new InMemoryRateLimitStore(100_000, Duration.ofHours(1));
+    }
+}
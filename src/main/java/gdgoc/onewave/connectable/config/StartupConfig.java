@@ -0,0 +1,53 @@
+package gdgoc.onewave.connectable.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.type.MethodMetadata;
+
+import java.util.List;
+
+/**
+ * Cold-start tuning for the {@code startup} profile (Cloud Run scale-from-zero).
+ *
+ * <p>springdoc builds the OpenAPI model only when {@code /v3/api-docs} is first requested, so its
+ * beans are made lazy instead of being created on the startup path.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("startup")
+public class StartupConfig {
+
+    private static final List<String> LAZY_PACKAGES = List.of("org.springdoc.", "io.swagger.");
+
+    @Bean
+    static BeanFactoryPostProcessor lazyApiDocsBeans() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (isApiDocsBean(definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    private static boolean isApiDocsBean(BeanDefinition definition) {
+        if (inLazyPackage(definition.getBeanClassName())) {
+            return true;
+        }
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            return factoryMethod != null
+                    && (inLazyPackage(factoryMethod.getDeclaringClassName())
+                    || inLazyPackage(factoryMethod.getReturnTypeName()));
+        }
+        return false;
+    }
+
+    private static boolean inLazyPackage(String className) {
+        return className != null && LAZY_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+}
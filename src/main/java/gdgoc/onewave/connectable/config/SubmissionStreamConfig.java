@@ -0,0 +1,57 @@
+package gdgoc.onewave.connectable.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+
+@Configuration
+public class SubmissionStreamConfig {
+
+    /**
+     * Runs streaming (SSE) gradings, separate from Boot's shared task executor. With the default
+     * zero queue a stream is either started at once or rejected as busy (503 + Retry-After), so
+     * no grading waits behind others past the stream timeout. Threads beyond the worker
+     * limiter's current limit wait in the limiter's own bounded queue.
+     *
+     * <p>Tasks run with the submitting request's observation (trace) and MDC.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor submissionStreamExecutor(
+            @Value("${submission.stream-pool-size:32}") int poolSize,
+            @Value("${submission.stream-queue-capacity:0}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("submission-stream-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(withMdc(new ContextPropagatingTaskDecorator()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    private static TaskDecorator withMdc(TaskDecorator delegate) {
+        return runnable -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            Runnable decorated = delegate.decorate(runnable);
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                MDC.setContextMap(context != null ? context : Map.of());
+                try {
+                    decorated.run();
+                } finally {
+                    if (previous != null) {
+                        MDC.setContextMap(previous);
+                    } else {
+                        MDC.clear();
+                    }
+                }
+            };
+        };
+    }
+}
@@ -1,39 +1,185 @@
 package gdgoc.onewave.connectable.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gdgoc.onewave.connectable.infrastructure.probe.PublicAddressGuard;
 import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.net.URI;
 import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Outbound HTTP clients. The grading worker and Gemini each get their own connection pool so a
+ * burst of slow grading calls cannot starve script generation (and vice versa).
+ *
+ * <p>Pools evict idle connections before Cloud Run / Google front ends drop them, so a reused
+ * connection is never half-closed, and export {@code reactor.netty.connection.provider.*} metrics
+ * tagged with the pool name.
+ */
 @Configuration
 public class WebClientConfig {
 
+    private static final int MAX_IN_MEMORY_SIZE = 10 * 1024 * 1024; // 10MB
+
+    @Value("${worker.urls:${worker.url}}")
+    private List<String> workerUrls;
+
+    @Value("${worker.pool.max-connections:50}")
+    private int workerMaxConnections;
+
+    @Value("${worker.pool.pending-acquire-max-count:200}")
+    private int workerPendingAcquireMaxCount;
+
+    @Value("${worker.pool.pending-acquire-timeout:10s}")
+    private Duration workerPendingAcquireTimeout;
+
+    @Value("${worker.pool.max-idle-time:60s}")
+    private Duration workerMaxIdleTime;
+
+    @Value("${worker.pool.max-life-time:10m}")
+    private Duration workerMaxLifeTime;
+
+    @Value("${gemini.pool.max-connections:20}")
+    private int geminiMaxConnections;
+
+    @Value("${gemini.pool.pending-acquire-max-count:50}")
+    private int geminiPendingAcquireMaxCount;
+
+    @Value("${gemini.pool.pending-acquire-timeout:10s}")
+    private Duration geminiPendingAcquireTimeout;
+
+    @Value("${gemini.pool.max-idle-time:60s}")
+    private Duration geminiMaxIdleTime;
+
+    @Value("${gemini.pool.max-life-time:10m}")
+    private Duration geminiMaxLifeTime;
+
+    @Value("${submission.probe.timeout:3s}")
+    private Duration probeTimeout;
+
+    @Value("${submission.probe.max-redirects:3}")
+    private int probeMaxRedirects;
+
+    @Value("${submission.probe.allow-private-addresses:false}")
+    private boolean probeAllowPrivateAddresses;
+
     @Bean
     public ObjectMapper objectMapper() {
         return new ObjectMapper();
     }
 
+    /**
+     * Built from Boot's {@link WebClient.Builder} so outgoing requests are observed and
+     * carry W3C trace context ({@code traceparent}) to the worker.
+     *
+     * <p>One client serves every entry in {@code worker.urls}, so HTTP/2 is only offered when
+     * all of them are https; a mixed list (e.g. an http sidecar) stays on HTTP/1.1.
+     */
+    @Bean
+    public WebClient workerWebClient(WebClient.Builder webClientBuilder) {
+        ConnectionProvider provider = connectionProvider("grading-worker", workerMaxConnections,
+                workerPendingAcquireMaxCount, workerPendingAcquireTimeout, workerMaxIdleTime, workerMaxLifeTime);
+        boolean allSecure = workerUrls.stream().allMatch(url -> url.trim().startsWith("https://"));
+        return buildWebClient(webClientBuilder.clone(), provider, allSecure);
+    }
+
     @Bean
-    public WebClient webClient() {
-        HttpClient httpClient = HttpClient.create()
+    public WebClient geminiWebClient(WebClient.Builder webClientBuilder) {
+        ConnectionProvider provider = connectionProvider("gemini", geminiMaxConnections,
+                geminiPendingAcquireMaxCount, geminiPendingAcquireTimeout, geminiMaxIdleTime, geminiMaxLifeTime);
+        return buildWebClient(webClientBuilder.clone(), provider, true);
+    }
+
+    /**
+     * Probes arbitrary user-supplied hosts, so it only connects to public addresses (checked on
+     * resolution and again on connect, see {@link PublicAddressGuard}), follows a bounded number
+     * of redirects and gives up quickly.
+     *
+     * <p>Deliberately not built from Boot's observed builder: {@code traceparent} and
+     * {@code baggage} must not be sent to third-party hosts. The probe timer covers its metrics.
+     */
+    @Bean
+    public WebClient probeWebClient() {
+        ConnectionProvider provider = ConnectionProvider.builder("submission-probe")
+                .maxConnections(50)
+                .pendingAcquireTimeout(probeTimeout)
+                .maxIdleTime(Duration.ofSeconds(10))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+        int timeoutMillis = (int) probeTimeout.toMillis();
+        HttpClient httpClient = PublicAddressGuard.restrict(HttpClient.create(provider), probeAllowPrivateAddresses)
+                .followRedirect((request, response) -> response.status().code() >= 300
+                        && response.status().code() < 400
+                        && request.redirectedFrom().length < probeMaxRedirects
+                        && (probeAllowPrivateAddresses || !redirectsToNonPublicIpLiteral(
+                                request.resourceUrl(), response.responseHeaders().get(HttpHeaderNames.LOCATION))))
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, timeoutMillis)
+                .responseTimeout(probeTimeout);
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * A redirect straight to a private IP literal is not followed at all; anything else that
+     * lands on a private address is still refused by the guard on connect.
+     */
+    private static boolean redirectsToNonPublicIpLiteral(String resourceUrl, String location) {
+        if (location == null) {
+            return false;
+        }
+        try {
+            return PublicAddressGuard.isNonPublicIpLiteral(URI.create(resourceUrl).resolve(location).getHost());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private ConnectionProvider connectionProvider(String name, int maxConnections, int pendingAcquireMaxCount,
+                                                  Duration pendingAcquireTimeout, Duration maxIdleTime,
+                                                  Duration maxLifeTime) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    private WebClient buildWebClient(WebClient.Builder builder, ConnectionProvider provider, boolean secure) {
+        HttpClient httpClient = HttpClient.create(provider)
+                // HTTP/2 is negotiated via ALPN, so only offer it over TLS; plain http stays HTTP/1.1
+                .protocol(secure
+                        ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[]{HttpProtocol.HTTP11})
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000) // 10초 연결 타임아웃
+                .option(ChannelOption.SO_KEEPALIVE, true)
                 .responseTimeout(Duration.ofSeconds(90)) // 90초 응답 타임아웃
                 .doOnConnected(conn ->
                         conn.addHandlerLast(new ReadTimeoutHandler(90, TimeUnit.SECONDS))
                                 .addHandlerLast(new WriteTimeoutHandler(90, TimeUnit.SECONDS))
                 );
 
-        return WebClient.builder()
+        return builder
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024)) // 10MB
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
                 .build();
     }
 }
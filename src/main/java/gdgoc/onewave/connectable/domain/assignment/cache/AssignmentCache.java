@@ -0,0 +1,63 @@
+package gdgoc.onewave.connectable.domain.assignment.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gdgoc.onewave.connectable.domain.assignment.repository.AssignmentRepository;
+import gdgoc.onewave.connectable.global.exception.BusinessException;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache of assignment snapshots keyed by id.
+ *
+ * <p>Memory is bounded by {@code assignment.cache.max-weight-bytes} (default 32MB),
+ * measured with {@link AssignmentSnapshot#estimatedBytes()}, so a few assignments with
+ * very large scripts evict many small ones rather than growing the heap. Entries are
+ * evicted on any entity update by {@link AssignmentCacheInvalidator}; the write TTL only
+ * bounds staleness across instances, which do not see each other's invalidations.
+ *
+ * <p>Hit rate is exported as {@code cache.gets{cache="assignment"}} via actuator metrics.
+ */
+@Component
+public class AssignmentCache {
+
+    private final AssignmentRepository assignmentRepository;
+    private final Cache<UUID, AssignmentSnapshot> cache;
+
+    public AssignmentCache(
+            AssignmentRepository assignmentRepository,
+            MeterRegistry meterRegistry,
+            @Value("${assignment.cache.max-weight-bytes:33554432}") long maxWeightBytes,
+            @Value("${assignment.cache.expire-after-write-minutes:60}") long expireAfterWriteMinutes) {
+        this.assignmentRepository = assignmentRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes)
+                .weigher((UUID id, AssignmentSnapshot snapshot) -> snapshot.estimatedBytes())
+                .expireAfterWrite(Duration.ofMinutes(expireAfterWriteMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "assignment");
+    }
+
+    public Optional<AssignmentSnapshot> find(UUID id) {
+        // Misses are not cached: Caffeine skips null values
+        return Optional.ofNullable(cache.get(id, key -> assignmentRepository.findById(key)
+                .map(AssignmentSnapshot::from)
+                .orElse(null)));
+    }
+
+    public AssignmentSnapshot get(UUID id) {
+        return find(id).orElseThrow(() -> new BusinessException(ErrorCode.ASSIGNMENT_NOT_FOUND));
+    }
+
+    public void evict(UUID id) {
+        cache.invalidate(id);
+    }
+}
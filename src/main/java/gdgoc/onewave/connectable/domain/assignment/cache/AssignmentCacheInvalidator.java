@@ -0,0 +1,45 @@
+package gdgoc.onewave.connectable.domain.assignment.cache;
+
+import gdgoc.onewave.connectable.domain.entity.Assignment;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * JPA entity listener that evicts an assignment from {@link AssignmentCache} whenever
+ * it is updated or removed, e.g. via {@link Assignment#updateAiScript(String)}.
+ *
+ * <p>The entry is evicted again after the transaction completes so that a concurrent
+ * reader cannot re-populate the cache with the pre-commit row.
+ */
+@Component
+public class AssignmentCacheInvalidator {
+
+    // Resolved lazily: the cache depends on the repository, which depends on this listener
+    private final ObjectProvider<AssignmentCache> assignmentCache;
+
+    public AssignmentCacheInvalidator(ObjectProvider<AssignmentCache> assignmentCache) {
+        this.assignmentCache = assignmentCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onChange(Assignment assignment) {
+        UUID id = assignment.getId();
+        assignmentCache.getObject().evict(id);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    assignmentCache.getObject().evict(id);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package gdgoc.onewave.connectable.domain.assignment.cache;
+
+import gdgoc.onewave.connectable.domain.entity.Assignment;
+import gdgoc.onewave.connectable.infrastructure.worker.GradingWorkerClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable, detached copy of an {@link Assignment} held by {@link AssignmentCache}.
+ * {@code scriptHash} is computed once here, so grading calls in hash mode do not rehash the
+ * script every time.
+ */
+public record AssignmentSnapshot(
+        UUID id,
+        UUID userId,
+        String title,
+        String content,
+        List<String> subTasks,
+        String aiScript,
+        String scriptHash,
+        LocalDateTime createdAt
+) {
+
+    private static final int OBJECT_OVERHEAD_BYTES = 64;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    public static AssignmentSnapshot from(Assignment assignment) {
+        List<String> subTasks = assignment.getSubTasks() != null ? List.copyOf(assignment.getSubTasks()) : List.of();
+        return new AssignmentSnapshot(
+                assignment.getId(),
+                assignment.getUserId(),
+                assignment.getTitle(),
+                assignment.getContent(),
+                subTasks,
+                assignment.getAiScript(),
+                GradingWorkerClient.scriptHash(assignment.getAiScript(), subTasks),
+                assignment.getCreatedAt()
+        );
+    }
+
+    /**
+     * Upper-bound estimate of the retained heap size. Strings are counted at
+     * 2 bytes per char because Korean content defeats compact strings.
+     */
+    int estimatedBytes() {
+        long bytes = OBJECT_OVERHEAD_BYTES
+                + sizeOf(scriptHash)
+                + sizeOf(title)
+                + sizeOf(content)
+                + sizeOf(aiScript);
+        for (String subTask : subTasks) {
+            bytes += sizeOf(subTask);
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private static long sizeOf(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+}
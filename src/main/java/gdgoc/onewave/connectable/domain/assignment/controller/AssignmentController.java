@@ -4,6 +4,7 @@ import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentCreateRequest;
 import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentListDataResponse;
 import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentListResponse;
 import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentResponse;
+import gdgoc.onewave.connectable.global.idempotency.IdempotencyStore;
 import gdgoc.onewave.connectable.global.response.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -24,10 +25,12 @@ import java.util.UUID;
 public class AssignmentController {
 
     private final gdgoc.onewave.connectable.domain.assignment.service.AssignmentService assignmentService;
+    private final IdempotencyStore idempotencyStore;
 
     @Operation(
         summary = "Create Assignment",
-        description = "Creates a new assignment and generates grading script via AI."
+        description = "Creates a new assignment and generates grading script via AI. "
+            + "Retries with the same Idempotency-Key return the first result instead of generating again."
     )
     @io.swagger.v3.oas.annotations.responses.ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -37,7 +40,12 @@ public class AssignmentController {
         ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "400",
-            description = "Invalid request - validation failed",
+            description = "Invalid request - validation failed, or Idempotency-Key reused with a different body",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "409",
+            description = "A request with this Idempotency-Key is still in progress",
             content = @Content(schema = @Schema(implementation = ApiResponse.class))
         ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -49,11 +57,17 @@ public class AssignmentController {
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ApiResponse<AssignmentResponse> createAssignment(
+            @Parameter(description = "Client-generated key; retries with the same key are not executed again")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody AssignmentCreateRequest request) {
-        return ApiResponse.success(assignmentService.create(request));
+        return ApiResponse.success(idempotencyStore.execute("assignment:" + request.userId(), idempotencyKey,
+                request, () -> assignmentService.create(request)));
     }
 
-    @Operation(summary = "Get Assignments", description = "Lists all assignments.")
+    @Operation(
+        summary = "Get Assignments",
+        description = "Lists all assignments. Pass the previous response's nextCursor to page by keyset instead of offset."
+    )
     @io.swagger.v3.oas.annotations.responses.ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200",
@@ -64,9 +78,11 @@ public class AssignmentController {
     @GetMapping
     public AssignmentListDataResponse getAssignments(
             @Parameter(description = "Page number (starts from 0)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size
+            @Parameter(description = "Page size (clamped to 1-100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Continuation cursor (page is ignored when set)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Include totalElements/totalPages") @RequestParam(defaultValue = "true") boolean includeTotal
     ) {
-        return assignmentService.getAssignments(page, size);
+        return assignmentService.getAssignments(page, size, cursor, includeTotal);
     }
 
     @Operation(summary = "Get Assignment Detail", description = "Gets details of a specific assignment.")
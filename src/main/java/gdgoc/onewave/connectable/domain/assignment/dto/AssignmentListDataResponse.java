@@ -14,9 +14,12 @@ public record AssignmentListDataResponse(
     @Schema(description = "Page size")
     int size,
 
-    @Schema(description = "Total number of elements")
+    @Schema(description = "Total number of elements (-1 when includeTotal=false)")
     long totalElements,
 
-    @Schema(description = "Total number of pages")
-    int totalPages
+    @Schema(description = "Total number of pages (-1 when includeTotal=false)")
+    int totalPages,
+
+    @Schema(description = "Opaque cursor for the next page; null when there are no more results")
+    String nextCursor
 ) {}
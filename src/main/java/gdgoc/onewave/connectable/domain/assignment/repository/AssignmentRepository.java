@@ -1,9 +1,33 @@
 package gdgoc.onewave.connectable.domain.assignment.repository;
 
 import gdgoc.onewave.connectable.domain.entity.Assignment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
+
+    /**
+     * Offset page without the accompanying count(*) query.
+     */
+    List<Assignment> findAllBy(Pageable pageable);
+
+    /**
+     * Keyset page strictly after the given (createdAt, id) position,
+     * served by idx_assignment_created_at_id.
+     */
+    @Query("""
+            SELECT a FROM Assignment a
+            WHERE a.createdAt < :createdAt
+               OR (a.createdAt = :createdAt AND a.id < :id)
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<Assignment> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") UUID id,
+                                   Pageable pageable);
 }
@@ -1,5 +1,7 @@
 package gdgoc.onewave.connectable.domain.assignment.service;
 
+import gdgoc.onewave.connectable.domain.assignment.cache.AssignmentCache;
+import gdgoc.onewave.connectable.domain.assignment.cache.AssignmentSnapshot;
 import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentCreateRequest;
 import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentListDataResponse;
 import gdgoc.onewave.connectable.domain.assignment.dto.AssignmentListResponse;
@@ -9,16 +11,21 @@ import gdgoc.onewave.connectable.domain.entity.Assignment;
 import gdgoc.onewave.connectable.global.exception.BusinessException;
 import gdgoc.onewave.connectable.global.exception.ErrorCode;
 import gdgoc.onewave.connectable.infrastructure.ai.GeminiService;
+import gdgoc.onewave.connectable.infrastructure.worker.GradingWorkerClient;
+import gdgoc.onewave.connectable.infrastructure.worker.WorkerWarmer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Service
@@ -27,6 +34,17 @@ public class AssignmentService {
 
     private final AssignmentRepository assignmentRepository;
     private final GeminiService geminiService;
+    private final AssignmentCache assignmentCache;
+    private final GradingWorkerClient gradingWorkerClient;
+    private final WorkerWarmer gradingWorkerWarmer;
+
+    private static final Sort LIST_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final AtomicReference<CachedCount> cachedCount = new AtomicReference<>();
+
+    @Value("${assignment.list.count-cache-ttl-seconds:30}")
+    private long countCacheTtlSeconds;
 
     @Transactional
     public AssignmentResponse create(AssignmentCreateRequest request) {
@@ -55,6 +73,8 @@ public class AssignmentService {
                 .build();
 
         assignment = assignmentRepository.save(assignment);
+        invalidateCountAfterCommit();
+        gradingWorkerClient.registerScript(aiScript, request.subTasks());
 
         log.info("Assignment created successfully: id={}, title={}", assignment.getId(), assignment.getTitle());
 
@@ -70,11 +90,21 @@ public class AssignmentService {
     }
 
     @Transactional(readOnly = true)
-    public AssignmentListDataResponse getAssignments(int page, int size) {
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<Assignment> assignmentPage = assignmentRepository.findAll(pageRequest);
+    public AssignmentListDataResponse getAssignments(int page, int size, String cursor, boolean includeTotal) {
+        // Zero or negative values would fail PageRequest (500) and divide by zero below
+        page = Math.max(page, 0);
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Assignment> assignments;
+        if (cursor != null && !cursor.isBlank()) {
+            // Keyset mode: seek past the last row of the previous page instead of skipping OFFSET rows
+            AssignmentCursor position = AssignmentCursor.decode(cursor);
+            assignments = assignmentRepository.findPageAfter(
+                    position.createdAt(), position.id(), PageRequest.of(0, size));
+        } else {
+            assignments = assignmentRepository.findAllBy(PageRequest.of(page, size, LIST_SORT));
+        }
 
-        List<AssignmentListResponse> content = assignmentPage.getContent().stream()
+        List<AssignmentListResponse> content = assignments.stream()
                 .map(a -> new AssignmentListResponse(
                         a.getId(),
                         a.getTitle(),
@@ -83,30 +113,72 @@ public class AssignmentService {
                 ))
                 .toList();
 
+        String nextCursor = assignments.size() == size
+                ? AssignmentCursor.of(assignments.get(assignments.size() - 1)).encode()
+                : null;
+
+        long totalElements = includeTotal ? countAssignments() : -1;
+        int totalPages = includeTotal ? (int) Math.ceil((double) totalElements / size) : -1;
+
         return new AssignmentListDataResponse(
                 content,
-                assignmentPage.getNumber(),
-                assignmentPage.getSize(),
-                assignmentPage.getTotalElements(),
-                assignmentPage.getTotalPages()
+                page,
+                size,
+                totalElements,
+                totalPages,
+                nextCursor
         );
     }
 
-    @Transactional(readOnly = true)
     public AssignmentResponse getAssignment(UUID id) {
-        Assignment assignment = assignmentRepository.findById(id)
-                .orElseThrow(() -> new BusinessException(ErrorCode.ASSIGNMENT_NOT_FOUND));
+        AssignmentSnapshot assignment = assignmentCache.get(id);
+        // Students opening an assignment are about to submit
+        gradingWorkerWarmer.recordActivity();
 
         return new AssignmentResponse(
-                assignment.getId(),
-                assignment.getTitle(),
-                assignment.getContent(),
-                assignment.getSubTasks(),
-                assignment.getAiScript(),
-                assignment.getCreatedAt()
+                assignment.id(),
+                assignment.title(),
+                assignment.content(),
+                assignment.subTasks(),
+                assignment.aiScript(),
+                assignment.createdAt()
         );
     }
 
+    /**
+     * count(*) grows linearly with the table, so the total is served from a
+     * short-lived cache and refreshed at most once per TTL.
+     */
+    private long countAssignments() {
+        CachedCount cached = cachedCount.get();
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.count();
+        }
+        long count = assignmentRepository.count();
+        cachedCount.set(new CachedCount(count, now + countCacheTtlSeconds * 1000));
+        return count;
+    }
+
+    /**
+     * Clearing before commit would let a concurrent list request refill the cache with the
+     * pre-insert count for the whole TTL, so the total is dropped once the insert is visible.
+     */
+    private void invalidateCountAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cachedCount.set(null);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cachedCount.set(null);
+            }
+        });
+    }
+
+    private record CachedCount(long count, long expiresAt) {}
+
     private String truncateContent(String content, int maxLength) {
         if (content == null || content.length() <= maxLength) {
             return content;
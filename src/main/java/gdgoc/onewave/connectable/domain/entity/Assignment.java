@@ -1,5 +1,6 @@
 package gdgoc.onewave.connectable.domain.entity;
 
+import gdgoc.onewave.connectable.domain.assignment.cache.AssignmentCacheInvalidator;
 import io.hypersistence.utils.hibernate.type.json.JsonType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -10,7 +11,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "assignment")
+@EntityListeners(AssignmentCacheInvalidator.class)
+@Table(name = "assignment", indexes = {
+        @Index(name = "idx_assignment_created_at_id", columnList = "created_at DESC, id DESC")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
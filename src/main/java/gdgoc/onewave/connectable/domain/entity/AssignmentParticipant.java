@@ -0,0 +1,42 @@
+package gdgoc.onewave.connectable.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row per (assignment, user) that has submitted at least once; its insert
+ * count drives {@link AssignmentStats#getUserCount()}.
+ */
+@Entity
+@Table(name = "assignment_participant")
+@IdClass(AssignmentParticipant.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class AssignmentParticipant {
+
+    @Id
+    @Column(name = "assignment_id")
+    private UUID assignmentId;
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID assignmentId;
+        private UUID userId;
+    }
+}
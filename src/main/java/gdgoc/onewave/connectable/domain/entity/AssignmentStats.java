@@ -0,0 +1,36 @@
+package gdgoc.onewave.connectable.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running per-assignment aggregates, incremented in the grading transaction.
+ * Average pass rate is {@code passRateSum / attemptCount}.
+ */
+@Entity
+@Table(name = "assignment_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class AssignmentStats {
+
+    @Id
+    @Column(name = "assignment_id")
+    private UUID assignmentId;
+
+    @Column(name = "attempt_count", nullable = false)
+    private long attemptCount;
+
+    @Column(name = "user_count", nullable = false)
+    private long userCount;
+
+    @Column(name = "pass_rate_sum", nullable = false)
+    private double passRateSum;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package gdgoc.onewave.connectable.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Running per-task pass counts of an assignment, keyed by task name.
+ */
+@Entity
+@Table(name = "assignment_task_stats")
+@IdClass(AssignmentTaskStats.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class AssignmentTaskStats {
+
+    @Id
+    @Column(name = "assignment_id")
+    private UUID assignmentId;
+
+    @Id
+    @Column(name = "task_name")
+    private String taskName;
+
+    @Column(name = "attempt_count", nullable = false)
+    private long attemptCount;
+
+    @Column(name = "passed_count", nullable = false)
+    private long passedCount;
+
+    @Getter
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID assignmentId;
+        private String taskName;
+    }
+}
@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "grading_result")
+@Table(name = "grading_result", indexes = {
+        @Index(name = "idx_grading_result_submission", columnList = "submission_id")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "submission")
+@Table(name = "submission", indexes = {
+        @Index(name = "idx_submission_assignment_user_created", columnList = "assignment_id, user_id, created_at DESC")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -32,6 +34,19 @@ public class Submission {
     @Column(nullable = false)
     private SubmissionStatus status;
 
+    @Column(name = "passed_count", nullable = false)
+    private int passedCount;
+
+    @Column(name = "total_count", nullable = false)
+    private int totalCount;
+
+    /**
+     * Compact results: bit i is the outcome of assignment.subTasks[i].
+     * Null when results are stored as grading_result rows.
+     */
+    @Column(name = "result_bits")
+    private byte[] resultBits;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -1,6 +1,7 @@
 package gdgoc.onewave.connectable.domain.entity;
 
 public enum SubmissionStatus {
+    PENDING,    // 채점 대기 (grading.queue.enabled)
     COMPLETED,  // 채점 완료
     FAILED      // 채점 실패
 }
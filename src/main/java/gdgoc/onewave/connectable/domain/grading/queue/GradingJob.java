@@ -0,0 +1,14 @@
+package gdgoc.onewave.connectable.domain.grading.queue;
+
+import java.util.UUID;
+
+/**
+ * A claimed grading job. {@code attempts} counts this claim, and together with the owner
+ * identifies it: a job reclaimed after its lease ran out can no longer be finished through
+ * the earlier claim.
+ */
+public record GradingJob(
+        UUID submissionId,
+        int attempts,
+        int maxAttempts
+) {}
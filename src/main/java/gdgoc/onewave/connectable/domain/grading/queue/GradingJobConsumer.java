@@ -0,0 +1,253 @@
+package gdgoc.onewave.connectable.domain.grading.queue;
+
+import gdgoc.onewave.connectable.domain.submission.service.SubmissionService;
+import gdgoc.onewave.connectable.global.exception.RetryAfterException;
+import gdgoc.onewave.connectable.infrastructure.worker.GradingWorkerClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grades queued submissions on this instance when {@code grading.queue.enabled} is on.
+ *
+ * <p>{@code concurrency} threads each claim one job at a time from {@link GradingJobQueue},
+ * grade it and store the results in the transaction that deletes the job, polling every
+ * {@code pollInterval} while the queue is empty. Adding instances adds consumers, so
+ * throughput grows with the instance count until the worker is the bottleneck. Leases are
+ * extended every third of {@code lease} while jobs run.
+ *
+ * <p>Failures, including a worker that timed out, could not be reached or answered 5xx, are
+ * retried after {@code retryBackoff}, doubling per attempt; only a grade the worker actually
+ * produced is stored. A busy worker hands the job back without spending an attempt.
+ *
+ * <p>On shutdown, claiming stops, running jobs get {@code shutdownGrace} to finish, and the
+ * rest are handed back for other instances at once instead of waiting for their leases to
+ * run out.
+ *
+ * <p>Exports {@code grading.job.events{event}} and {@code grading.job.in.flight}.
+ */
+@Slf4j
+@Component
+public class GradingJobConsumer implements SmartLifecycle {
+
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofMinutes(5);
+
+    private final GradingJobQueue queue;
+    private final SubmissionService submissionService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int concurrency;
+    private final Duration pollInterval;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final Duration shutdownGrace;
+
+    private final String owner = "consumer-" + UUID.randomUUID();
+    private final Set<GradingJob> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger threadCount = new AtomicInteger();
+
+    private volatile boolean running;
+    private ExecutorService consumers;
+    private ScheduledExecutorService housekeeping;
+
+    public GradingJobConsumer(
+            GradingJobQueue gradingJobQueue,
+            SubmissionService submissionService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${grading.queue.enabled:false}") boolean enabled,
+            @Value("${grading.queue.concurrency:8}") int concurrency,
+            @Value("${grading.queue.poll-interval:1s}") Duration pollInterval,
+            @Value("${grading.queue.lease:2m}") Duration lease,
+            @Value("${grading.queue.retry-backoff:10s}") Duration retryBackoff,
+            @Value("${grading.queue.shutdown-grace:20s}") Duration shutdownGrace) {
+        this.queue = gradingJobQueue;
+        this.submissionService = submissionService;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.concurrency = concurrency;
+        this.pollInterval = pollInterval;
+        this.lease = lease;
+        this.retryBackoff = retryBackoff;
+        this.shutdownGrace = shutdownGrace;
+        Gauge.builder("grading.job.in.flight", inFlight, Set::size)
+                .description("Queued grading jobs this instance is running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        consumers = Executors.newFixedThreadPool(concurrency,
+                runnable -> new Thread(runnable, "grading-job-" + threadCount.incrementAndGet()));
+        for (int i = 0; i < concurrency; i++) {
+            consumers.execute(this::consume);
+        }
+        housekeeping = Executors.newSingleThreadScheduledExecutor(
+                runnable -> new Thread(runnable, "grading-job-lease"));
+        long period = Math.max(1, lease.toMillis() / 3);
+        housekeeping.scheduleWithFixedDelay(this::renewLeases, period, period, TimeUnit.MILLISECONDS);
+        log.info("Grading job consumer {} started with {} threads", owner, concurrency);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        consumers.shutdown();
+        try {
+            if (!consumers.awaitTermination(shutdownGrace.toMillis(), TimeUnit.MILLISECONDS)) {
+                consumers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            consumers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        housekeeping.shutdownNow();
+        for (GradingJob job : inFlight) {
+            if (queue.release(job, owner, Duration.ZERO)) {
+                count("released");
+            }
+        }
+        log.info("Grading job consumer {} stopped", owner);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                Optional<GradingJob> job = queue.claim(owner, lease);
+                if (job.isPresent()) {
+                    process(job.get());
+                } else {
+                    Thread.sleep(pollInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Grading job claim failed: {}", e.toString());
+                try {
+                    Thread.sleep(pollInterval.toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void process(GradingJob job) {
+        inFlight.add(job);
+        count("claimed");
+        boolean handBack = false;
+        try {
+            GradingWorkerClient.GradingResponse response = submissionService.gradeQueued(job.submissionId());
+            if (!running && Thread.currentThread().isInterrupted()) {
+                // The worker call was cut short by shutdown, so its failure result is not real
+                handBack = true;
+                return;
+            }
+            Boolean completed = transactionTemplate.execute(status -> {
+                if (!queue.complete(job, owner)) {
+                    return false;
+                }
+                submissionService.completeQueued(job.submissionId(), response);
+                return true;
+            });
+            count(Boolean.TRUE.equals(completed) ? "completed" : "lease_lost");
+        } catch (RetryAfterException e) {
+            if (queue.release(job, owner, Duration.ofSeconds(e.getRetryAfterSeconds()))) {
+                count("released");
+            }
+        } catch (Exception e) {
+            // Interrupted by shutdown: stop() hands the job back without spending the attempt
+            handBack = !running;
+            if (!handBack) {
+                fail(job, e);
+            }
+        } finally {
+            if (!handBack) {
+                inFlight.remove(job);
+            }
+        }
+    }
+
+    /**
+     * A deleted submission or assignment takes its job with it (ON DELETE CASCADE), so what
+     * reaches here is worth retrying.
+     */
+    private void fail(GradingJob job, Exception e) {
+        Duration delay = backoff(job.attempts());
+        switch (queue.fail(job, owner, e.toString(), delay)) {
+            case RETRY -> {
+                count("retried");
+                log.warn("Grading job for submission {} failed on attempt {}/{}, retrying in {}s: {}",
+                        job.submissionId(), job.attempts(), job.maxAttempts(), delay.toSeconds(), e.toString());
+            }
+            case DEAD -> {
+                count("dead_lettered");
+                log.error("Grading job for submission {} dead-lettered after {} attempts",
+                        job.submissionId(), job.attempts(), e);
+                submissionService.failQueued(job.submissionId());
+            }
+            case LOST -> count("lease_lost");
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long millis = retryBackoff.toMillis() << Math.min(Math.max(0, attempts - 1), 20);
+        return Duration.ofMillis(Math.min(millis, MAX_RETRY_BACKOFF.toMillis()));
+    }
+
+    private void renewLeases() {
+        try {
+            if (!inFlight.isEmpty()) {
+                queue.heartbeat(owner, lease);
+            }
+            int dead = queue.deadLetterExpired();
+            if (dead > 0) {
+                Counter.builder("grading.job.events").tag("event", "dead_lettered").register(meterRegistry)
+                        .increment(dead);
+                log.error("Dead-lettered {} grading jobs whose lease expired on their last attempt", dead);
+            }
+        } catch (Exception e) {
+            log.warn("Grading job lease renewal failed: {}", e.toString());
+        }
+    }
+
+    private void count(String event) {
+        Counter.builder("grading.job.events")
+                .description("Grading job queue events on this instance")
+                .tag("event", event)
+                .register(meterRegistry)
+                .increment();
+    }
+}
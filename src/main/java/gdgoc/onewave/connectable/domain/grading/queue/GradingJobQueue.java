@@ -0,0 +1,182 @@
+package gdgoc.onewave.connectable.domain.grading.queue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Durable grading queue in the {@code grading_job} table, shared by all instances.
+ *
+ * <p>A job is claimed by one statement that locks ready rows with {@code FOR UPDATE SKIP
+ * LOCKED}, so concurrent consumers never wait on or claim the same job. A claim holds a lease
+ * that the owner extends with {@link #heartbeat}; when an instance dies or is scaled down
+ * mid-grading, the lease runs out and the job is claimed again elsewhere. Each claim counts an
+ * attempt, and a job that runs out of attempts is dead-lettered ({@code DEAD}) and its
+ * submission marked failed.
+ *
+ * <p>Every call is a single statement. Apart from {@link #enqueue} (which must join the
+ * transaction inserting the submission) and {@link #complete} (which joins the one storing the
+ * results), call these outside a transaction so row locks are released at once.
+ */
+@Component
+public class GradingJobQueue {
+
+    private static final String ENQUEUE = """
+            INSERT INTO grading_job (submission_id, status, max_attempts, available_at)
+            VALUES (?, 'PENDING', ?, clock_timestamp())
+            """;
+
+    // The CTE picks and locks the rows once; IN (subquery ... LIMIT) may be re-evaluated
+    private static final String CLAIM = """
+            WITH next AS (
+                SELECT submission_id FROM grading_job
+                WHERE (status = 'PENDING' AND available_at <= clock_timestamp())
+                   OR (status = 'RUNNING' AND lease_expires_at < clock_timestamp() AND attempts < max_attempts)
+                ORDER BY available_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            UPDATE grading_job j SET
+                status = 'RUNNING',
+                attempts = j.attempts + 1,
+                lease_owner = ?,
+                lease_expires_at = clock_timestamp() + make_interval(secs => ?)
+            FROM next
+            WHERE j.submission_id = next.submission_id
+            RETURNING j.submission_id, j.attempts, j.max_attempts
+            """;
+
+    private static final String HEARTBEAT = """
+            UPDATE grading_job SET lease_expires_at = clock_timestamp() + make_interval(secs => ?)
+            WHERE lease_owner = ? AND status = 'RUNNING'
+            """;
+
+    private static final String CLAIM_HELD = """
+            submission_id = ? AND lease_owner = ? AND attempts = ? AND status = 'RUNNING'
+            """;
+
+    private static final String COMPLETE = "DELETE FROM grading_job WHERE " + CLAIM_HELD;
+
+    private static final String FAIL = """
+            UPDATE grading_job SET
+                status = CASE WHEN attempts >= max_attempts THEN 'DEAD' ELSE 'PENDING' END,
+                available_at = clock_timestamp() + make_interval(secs => ?),
+                lease_owner = NULL,
+                lease_expires_at = NULL,
+                last_error = ?
+            WHERE %s
+            RETURNING status
+            """.formatted(CLAIM_HELD);
+
+    private static final String RELEASE = """
+            UPDATE grading_job SET
+                status = 'PENDING',
+                attempts = attempts - 1,
+                available_at = clock_timestamp() + make_interval(secs => ?),
+                lease_owner = NULL,
+                lease_expires_at = NULL
+            WHERE %s
+            """.formatted(CLAIM_HELD);
+
+    private static final String DEAD_LETTER_EXPIRED = """
+            WITH dead AS (
+                UPDATE grading_job SET
+                    status = 'DEAD',
+                    lease_owner = NULL,
+                    lease_expires_at = NULL,
+                    last_error = 'Lease expired on the last attempt'
+                WHERE status = 'RUNNING' AND lease_expires_at < clock_timestamp() AND attempts >= max_attempts
+                RETURNING submission_id
+            )
+            UPDATE submission SET status = 'FAILED' WHERE id IN (SELECT submission_id FROM dead)
+            """;
+
+    private static final RowMapper<GradingJob> JOB_MAPPER = (rs, rowNum) -> new GradingJob(
+            rs.getObject("submission_id", UUID.class),
+            rs.getInt("attempts"),
+            rs.getInt("max_attempts"));
+
+    public enum FailureResult { RETRY, DEAD, LOST }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxAttempts;
+
+    public GradingJobQueue(JdbcTemplate jdbcTemplate,
+                           @Value("${grading.queue.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Adds a job for a submission inserted (and flushed) in the current transaction.
+     */
+    public void enqueue(UUID submissionId) {
+        jdbcTemplate.update(ENQUEUE, submissionId, maxAttempts);
+    }
+
+    /**
+     * Claims the oldest ready job, or one whose previous owner's lease ran out.
+     */
+    public Optional<GradingJob> claim(String owner, Duration lease) {
+        List<GradingJob> claimed = jdbcTemplate.query(CLAIM, JOB_MAPPER, 1, owner, seconds(lease));
+        return claimed.stream().findFirst();
+    }
+
+    /**
+     * Extends the leases of all jobs {@code owner} is running.
+     *
+     * @return the number of leases extended
+     */
+    public int heartbeat(String owner, Duration lease) {
+        return jdbcTemplate.update(HEARTBEAT, seconds(lease), owner);
+    }
+
+    /**
+     * Removes a finished job. Call in the transaction that stores its results and roll back if
+     * this returns false: the lease was lost and another claim owns the job now.
+     */
+    public boolean complete(GradingJob job, String owner) {
+        return jdbcTemplate.update(COMPLETE, job.submissionId(), owner, job.attempts()) == 1;
+    }
+
+    /**
+     * Puts a failed job back after {@code retryDelay}, or dead-letters it if this was its
+     * last attempt.
+     */
+    public FailureResult fail(GradingJob job, String owner, String error, Duration retryDelay) {
+        List<String> status = jdbcTemplate.queryForList(FAIL, String.class,
+                seconds(retryDelay), error, job.submissionId(), owner, job.attempts());
+        if (status.isEmpty()) {
+            return FailureResult.LOST;
+        }
+        return "DEAD".equals(status.get(0)) ? FailureResult.DEAD : FailureResult.RETRY;
+    }
+
+    /**
+     * Hands a job back without counting the attempt, e.g. when the worker was busy or this
+     * instance is shutting down.
+     */
+    public boolean release(GradingJob job, String owner, Duration delay) {
+        return jdbcTemplate.update(RELEASE, seconds(delay), job.submissionId(), owner, job.attempts()) == 1;
+    }
+
+    /**
+     * Dead-letters jobs whose owner disappeared during their last attempt and marks their
+     * submissions failed.
+     *
+     * @return the number of submissions marked failed
+     */
+    public int deadLetterExpired() {
+        return jdbcTemplate.update(DEAD_LETTER_EXPIRED);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
@@ -2,8 +2,24 @@ package gdgoc.onewave.connectable.domain.grading.repository;
 
 import gdgoc.onewave.connectable.domain.entity.GradingResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface GradingResultRepository extends JpaRepository<GradingResult, UUID> {
+
+    /**
+     * Results of several submissions in one query, served by idx_grading_result_submission.
+     * The order is only made deterministic here; GradingResultStore puts each submission's
+     * results in sub-task order.
+     */
+    @Query("""
+            SELECT gr FROM GradingResult gr
+            WHERE gr.submission.id IN :submissionIds
+            ORDER BY gr.submission.id, gr.createdAt, gr.id
+            """)
+    List<GradingResult> findAllBySubmissionIds(@Param("submissionIds") Collection<UUID> submissionIds);
 }
@@ -0,0 +1,132 @@
+package gdgoc.onewave.connectable.domain.grading.service;
+
+import gdgoc.onewave.connectable.domain.entity.GradingResult;
+import gdgoc.onewave.connectable.domain.entity.Submission;
+import gdgoc.onewave.connectable.domain.grading.dto.GradingResultResponse;
+import gdgoc.onewave.connectable.domain.grading.repository.GradingResultRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Persists and loads per-task grading outcomes in one of two formats.
+ *
+ * <ul>
+ *   <li>{@code rows}: one {@code grading_result} row per task (original format).</li>
+ *   <li>{@code compact}: a bitset in {@code submission.result_bits} where bit {@code i}
+ *       is the outcome of {@code Assignment.subTasks[i]}. Results that do not map
+ *       one-to-one onto subTasks (e.g. the worker's default "Grading Evaluation" task)
+ *       fall back to rows.</li>
+ * </ul>
+ *
+ * Both formats are read back as {@link GradingResultResponse}, so existing data keeps
+ * working after switching {@code grading.result-storage}.
+ */
+@Component
+@RequiredArgsConstructor
+public class GradingResultStore {
+
+    private final GradingResultRepository gradingResultRepository;
+
+    @Value("${grading.result-storage:rows}")
+    private String resultStorage;
+
+    /**
+     * @return the bitset to store on the submission, or null if results must be stored as rows
+     */
+    public byte[] encode(List<String> subTasks, List<GradingResultResponse> results) {
+        if (!"compact".equalsIgnoreCase(resultStorage) || results.size() != subTasks.size()) {
+            return null;
+        }
+
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < subTasks.size(); i++) {
+            if (ordinals.put(subTasks.get(i), i) != null) {
+                return null; // duplicate sub-task names are ambiguous
+            }
+        }
+
+        BitSet bits = new BitSet(subTasks.size());
+        BitSet seen = new BitSet(subTasks.size());
+        for (GradingResultResponse result : results) {
+            Integer ordinal = ordinals.get(result.taskName());
+            if (ordinal == null || seen.get(ordinal)) {
+                return null;
+            }
+            seen.set(ordinal);
+            bits.set(ordinal, Boolean.TRUE.equals(result.isPassed()));
+        }
+        return bits.toByteArray();
+    }
+
+    public void saveRows(Submission submission, List<GradingResultResponse> results) {
+        List<GradingResult> gradingResults = results.stream()
+                .map(result -> GradingResult.builder()
+                        .submission(submission)
+                        .taskName(result.taskName())
+                        .isPassed(Boolean.TRUE.equals(result.isPassed()))
+                        .build())
+                .collect(Collectors.toList());
+        gradingResultRepository.saveAll(gradingResults);
+    }
+
+    /**
+     * Loads results of submissions that belong to one assignment. Compact submissions are
+     * decoded in memory; the rest are fetched with a single IN query.
+     */
+    public Map<UUID, List<GradingResultResponse>> load(List<Submission> submissions, List<String> subTasks) {
+        Map<UUID, List<GradingResultResponse>> resultsBySubmission = new HashMap<>();
+        List<UUID> rowSubmissionIds = new ArrayList<>();
+
+        for (Submission submission : submissions) {
+            if (submission.getResultBits() != null) {
+                resultsBySubmission.put(submission.getId(), decode(submission.getResultBits(), subTasks));
+            } else {
+                rowSubmissionIds.add(submission.getId());
+            }
+        }
+
+        if (!rowSubmissionIds.isEmpty()) {
+            Map<UUID, List<GradingResultResponse>> rowResults = new HashMap<>();
+            gradingResultRepository.findAllBySubmissionIds(rowSubmissionIds).forEach(gr ->
+                    rowResults.computeIfAbsent(gr.getSubmission().getId(), id -> new ArrayList<>())
+                            .add(new GradingResultResponse(gr.getTaskName(), gr.getIsPassed())));
+            rowResults.forEach((id, results) -> resultsBySubmission.put(id, inSubTaskOrder(results, subTasks)));
+        }
+        return resultsBySubmission;
+    }
+
+    /**
+     * Rows of one submission share (nearly) the same created_at, so their stored order says
+     * nothing about task order. Sorts them like compact results: subTasks order first, then
+     * task names that are not in subTasks, in the order they were stored.
+     */
+    static List<GradingResultResponse> inSubTaskOrder(List<GradingResultResponse> results, List<String> subTasks) {
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < subTasks.size(); i++) {
+            ordinals.putIfAbsent(subTasks.get(i), i);
+        }
+        List<GradingResultResponse> sorted = new ArrayList<>(results);
+        // List.sort is stable, so equal keys keep their stored order
+        sorted.sort(Comparator.comparingInt(result -> ordinals.getOrDefault(result.taskName(), subTasks.size())));
+        return sorted;
+    }
+
+    static List<GradingResultResponse> decode(byte[] resultBits, List<String> subTasks) {
+        BitSet bits = BitSet.valueOf(resultBits);
+        List<GradingResultResponse> results = new ArrayList<>(subTasks.size());
+        for (int i = 0; i < subTasks.size(); i++) {
+            results.add(new GradingResultResponse(subTasks.get(i), bits.get(i)));
+        }
+        return results;
+    }
+}
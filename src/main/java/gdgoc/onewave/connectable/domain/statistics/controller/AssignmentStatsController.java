@@ -0,0 +1,45 @@
+package gdgoc.onewave.connectable.domain.statistics.controller;
+
+import gdgoc.onewave.connectable.domain.statistics.dto.AssignmentStatsResponse;
+import gdgoc.onewave.connectable.domain.statistics.service.AssignmentStatsService;
+import gdgoc.onewave.connectable.global.response.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Tag(name = "Statistics", description = "Assignment Statistics API")
+@RestController
+@RequestMapping("/api/assignments")
+@RequiredArgsConstructor
+public class AssignmentStatsController {
+
+    private final AssignmentStatsService assignmentStatsService;
+
+    @Operation(
+        summary = "Get Assignment Statistics",
+        description = "Returns pre-aggregated attempt, user and pass-rate statistics for an assignment."
+    )
+    @io.swagger.v3.oas.annotations.responses.ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Statistics retrieved successfully",
+            content = @Content(schema = @Schema(implementation = AssignmentStatsResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Assignment not found",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        )
+    })
+    @GetMapping("/{id}/stats")
+    public ApiResponse<AssignmentStatsResponse> getStats(
+            @Parameter(description = "Assignment ID", required = true) @PathVariable UUID id) {
+        return ApiResponse.success(assignmentStatsService.getStats(id));
+    }
+}
@@ -0,0 +1,28 @@
+package gdgoc.onewave.connectable.domain.statistics.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Assignment Statistics Response")
+public record AssignmentStatsResponse(
+    @Schema(description = "Total number of graded submissions")
+    long attemptCount,
+    @Schema(description = "Number of distinct users who submitted")
+    long userCount,
+    @Schema(description = "Average pass rate across submissions (0.0 - 1.0)", example = "0.8")
+    double averagePassRate,
+    @Schema(description = "Per-task statistics in sub-task order")
+    List<TaskStats> tasks
+) {
+    @Schema(description = "Task Statistics")
+    public record TaskStats(
+        @Schema(description = "Task Name")
+        String taskName,
+        @Schema(description = "Number of submissions graded on this task")
+        long attemptCount,
+        @Schema(description = "Number of submissions that passed this task")
+        long passedCount,
+        @Schema(description = "Pass ratio (0.0 - 1.0)", example = "0.75")
+        double passRatio
+    ) {}
+}
@@ -0,0 +1,37 @@
+package gdgoc.onewave.connectable.domain.statistics.repository;
+
+import gdgoc.onewave.connectable.domain.entity.AssignmentStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.UUID;
+
+public interface AssignmentStatsRepository extends JpaRepository<AssignmentStats, UUID> {
+
+    /**
+     * @return 1 if this is the user's first submission for the assignment, otherwise 0
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO assignment_participant (assignment_id, user_id, created_at)
+            VALUES (:assignmentId, :userId, NOW())
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertParticipant(@Param("assignmentId") UUID assignmentId, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO assignment_stats (assignment_id, attempt_count, user_count, pass_rate_sum, updated_at)
+            VALUES (:assignmentId, 1, :newUsers, :passRate, NOW())
+            ON CONFLICT (assignment_id) DO UPDATE SET
+                attempt_count = assignment_stats.attempt_count + 1,
+                user_count = assignment_stats.user_count + EXCLUDED.user_count,
+                pass_rate_sum = assignment_stats.pass_rate_sum + EXCLUDED.pass_rate_sum,
+                updated_at = NOW()
+            """, nativeQuery = true)
+    void incrementAttempt(@Param("assignmentId") UUID assignmentId,
+                          @Param("newUsers") int newUsers,
+                          @Param("passRate") double passRate);
+}
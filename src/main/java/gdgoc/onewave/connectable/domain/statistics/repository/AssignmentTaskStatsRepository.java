@@ -0,0 +1,27 @@
+package gdgoc.onewave.connectable.domain.statistics.repository;
+
+import gdgoc.onewave.connectable.domain.entity.AssignmentTaskStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface AssignmentTaskStatsRepository extends JpaRepository<AssignmentTaskStats, AssignmentTaskStats.Key> {
+
+    List<AssignmentTaskStats> findAllByAssignmentId(UUID assignmentId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO assignment_task_stats (assignment_id, task_name, attempt_count, passed_count)
+            VALUES (:assignmentId, :taskName, 1, :passed)
+            ON CONFLICT (assignment_id, task_name) DO UPDATE SET
+                attempt_count = assignment_task_stats.attempt_count + 1,
+                passed_count = assignment_task_stats.passed_count + EXCLUDED.passed_count
+            """, nativeQuery = true)
+    void incrementTask(@Param("assignmentId") UUID assignmentId,
+                       @Param("taskName") String taskName,
+                       @Param("passed") int passed);
+}
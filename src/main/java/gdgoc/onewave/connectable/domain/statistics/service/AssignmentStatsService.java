@@ -0,0 +1,85 @@
+package gdgoc.onewave.connectable.domain.statistics.service;
+
+import gdgoc.onewave.connectable.domain.assignment.cache.AssignmentCache;
+import gdgoc.onewave.connectable.domain.assignment.cache.AssignmentSnapshot;
+import gdgoc.onewave.connectable.domain.entity.AssignmentStats;
+import gdgoc.onewave.connectable.domain.entity.AssignmentTaskStats;
+import gdgoc.onewave.connectable.domain.grading.dto.GradingResultResponse;
+import gdgoc.onewave.connectable.domain.statistics.dto.AssignmentStatsResponse;
+import gdgoc.onewave.connectable.domain.statistics.repository.AssignmentStatsRepository;
+import gdgoc.onewave.connectable.domain.statistics.repository.AssignmentTaskStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class AssignmentStatsService {
+
+    private final AssignmentStatsRepository assignmentStatsRepository;
+    private final AssignmentTaskStatsRepository assignmentTaskStatsRepository;
+    private final AssignmentCache assignmentCache;
+
+    /**
+     * Folds one graded submission into the assignment's running aggregates.
+     * Runs inside the caller's transaction so the aggregates commit (or roll back)
+     * together with the submission; upserts keep concurrent submissions consistent.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSubmission(UUID assignmentId, UUID userId, List<GradingResultResponse> results) {
+        int totalCount = results.size();
+        // A result without isPassed counts as failed rather than failing the whole submission
+        int passedCount = (int) results.stream().filter(result -> Boolean.TRUE.equals(result.isPassed())).count();
+        double passRate = totalCount > 0 ? (double) passedCount / totalCount : 0.0;
+
+        int newUsers = assignmentStatsRepository.insertParticipant(assignmentId, userId);
+        assignmentStatsRepository.incrementAttempt(assignmentId, newUsers, passRate);
+
+        for (GradingResultResponse result : results) {
+            assignmentTaskStatsRepository.incrementTask(
+                    assignmentId, result.taskName(), Boolean.TRUE.equals(result.isPassed()) ? 1 : 0);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public AssignmentStatsResponse getStats(UUID assignmentId) {
+        AssignmentSnapshot assignment = assignmentCache.get(assignmentId);
+
+        AssignmentStats stats = assignmentStatsRepository.findById(assignmentId).orElse(null);
+        long attemptCount = stats != null ? stats.getAttemptCount() : 0;
+        long userCount = stats != null ? stats.getUserCount() : 0;
+        double averagePassRate = attemptCount > 0 ? stats.getPassRateSum() / attemptCount : 0.0;
+
+        // Sub-task order first, then any task names the worker reported that are not in subTasks
+        Map<String, AssignmentTaskStats> taskStatsByName = new LinkedHashMap<>();
+        for (AssignmentTaskStats taskStats : assignmentTaskStatsRepository.findAllByAssignmentId(assignmentId)) {
+            taskStatsByName.put(taskStats.getTaskName(), taskStats);
+        }
+
+        List<AssignmentStatsResponse.TaskStats> tasks = new ArrayList<>();
+        for (String subTask : assignment.subTasks()) {
+            tasks.add(toTaskStats(subTask, taskStatsByName.remove(subTask)));
+        }
+        taskStatsByName.forEach((taskName, taskStats) -> tasks.add(toTaskStats(taskName, taskStats)));
+
+        return new AssignmentStatsResponse(attemptCount, userCount, averagePassRate, tasks);
+    }
+
+    private AssignmentStatsResponse.TaskStats toTaskStats(String taskName, AssignmentTaskStats taskStats) {
+        if (taskStats == null) {
+            return new AssignmentStatsResponse.TaskStats(taskName, 0, 0, 0.0);
+        }
+        double passRatio = taskStats.getAttemptCount() > 0
+                ? (double) taskStats.getPassedCount() / taskStats.getAttemptCount()
+                : 0.0;
+        return new AssignmentStatsResponse.TaskStats(
+                taskName, taskStats.getAttemptCount(), taskStats.getPassedCount(), passRatio);
+    }
+}
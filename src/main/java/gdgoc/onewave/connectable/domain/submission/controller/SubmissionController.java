@@ -1,8 +1,16 @@
 package gdgoc.onewave.connectable.domain.submission.controller;
 
+import gdgoc.onewave.connectable.domain.assignment.cache.AssignmentSnapshot;
+import gdgoc.onewave.connectable.domain.submission.dto.LeaderboardEntryResponse;
 import gdgoc.onewave.connectable.domain.submission.dto.SubmissionRequest;
 import gdgoc.onewave.connectable.domain.submission.dto.SubmissionResponse;
+import gdgoc.onewave.connectable.domain.submission.service.SubmissionRateLimiter;
 import gdgoc.onewave.connectable.domain.submission.service.SubmissionService;
+import gdgoc.onewave.connectable.global.concurrency.AdaptiveConcurrencyLimiter;
+import gdgoc.onewave.connectable.global.exception.BusinessException;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.exception.RetryAfterException;
+import gdgoc.onewave.connectable.global.idempotency.IdempotencyStore;
 import gdgoc.onewave.connectable.global.response.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,10 +20,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 
+@Slf4j
 @Tag(name = "Submission", description = "Submission and Grading API")
 @RestController
 @RequestMapping("/api/assignments")
@@ -23,10 +42,21 @@ import java.util.UUID;
 public class SubmissionController {
 
     private final SubmissionService submissionService;
+    private final SubmissionRateLimiter submissionRateLimiter;
+    private final IdempotencyStore idempotencyStore;
+    private final AdaptiveConcurrencyLimiter gradingWorkerLimiter;
+    @Qualifier("submissionStreamExecutor")
+    private final AsyncTaskExecutor taskExecutor;
+
+    @Value("${submission.stream-timeout:3m}")
+    private Duration streamTimeout;
 
     @Operation(
         summary = "Submit and Grade",
-        description = "Submits a deployed project URL and performs immediate grading."
+        description = "Submits a deployed project URL and performs immediate grading. "
+            + "Retries with the same Idempotency-Key return the first result (or wait for it) instead of grading again. "
+            + "With the grading queue enabled, returns at once with status PENDING and no results; "
+            + "poll the submission history, or retry with the same Idempotency-Key, for the outcome."
     )
     @io.swagger.v3.oas.annotations.Parameters({
         @Parameter(
@@ -45,7 +75,7 @@ public class SubmissionController {
         ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "400",
-            description = "Invalid URL format or missing required fields",
+            description = "Invalid or missing fields, or the URL failed the pre-flight probe (S005 non-public address, S006 unreachable, S007 error status)",
             content = @Content(schema = @Schema(implementation = ApiResponse.class))
         ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -53,17 +83,179 @@ public class SubmissionController {
             description = "Assignment not found",
             content = @Content(schema = @Schema(implementation = ApiResponse.class))
         ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "409",
+            description = "A request with this Idempotency-Key is still in progress",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "429",
+            description = "Per-user or per-assignment submission rate exceeded; retry after the Retry-After header (seconds)",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "500",
             description = "Grading process failed",
             content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "503",
+            description = "Grading worker is at capacity; retry after the Retry-After header (seconds)",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
         )
     })
     @PostMapping("/{id}/submissions")
     public ApiResponse<SubmissionResponse> submitAssignment(
+            @PathVariable UUID id,
+            @Parameter(description = "Client-generated key; retries with the same key are not graded again")
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody SubmissionRequest request
+    ) {
+        // Replays do not spend rate-limit tokens; the limit is checked outside the submission
+        // transaction, before any write or worker call. A replayed PENDING submission is re-read
+        // so the retry sees the grade once the queued job has finished
+        return ApiResponse.success(idempotencyStore.execute(
+                "submission:" + id + ":" + request.userId(), idempotencyKey, request, () -> {
+                    submissionRateLimiter.check(id, request.userId());
+                    return submissionService.submit(id, request);
+                }, submissionService::refresh));
+    }
+
+    @Operation(
+        summary = "Submit and Grade (streaming)",
+        description = "Same as Submit and Grade, but streams Server-Sent Events: a `result` event "
+            + "(GradingResultResponse) per task as the worker reports it, then a `completed` event "
+            + "(ApiResponse of SubmissionResponse), or an `error` event (ApiResponse with error code)."
+    )
+    @io.swagger.v3.oas.annotations.Parameters({
+        @Parameter(
+            name = "id",
+            description = "Assignment ID",
+            in = ParameterIn.PATH,
+            required = true,
+            schema = @Schema(type = "string", format = "uuid")
+        )
+    })
+    @io.swagger.v3.oas.annotations.responses.ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Event stream of grading results"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid or missing fields, or the URL failed the pre-flight probe (S005 non-public address, S006 unreachable, S007 error status)",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Assignment not found",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "429",
+            description = "Per-user or per-assignment submission rate exceeded; retry after the Retry-After header (seconds)",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "503",
+            description = "All streaming slots are busy; retry after the Retry-After header (seconds)",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        )
+    })
+    @PostMapping(value = "/{id}/submissions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter submitAssignmentStream(
             @PathVariable UUID id,
             @Valid @RequestBody SubmissionRequest request
     ) {
-        return ApiResponse.success(submissionService.submit(id, request));
+        // Checked before the stream opens so the 429 still carries Retry-After, and the 404 and
+        // probe failures are plain responses rather than error events
+        submissionRateLimiter.check(id, request.userId());
+        AssignmentSnapshot snapshot = submissionService.preflight(id, request);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        try {
+            taskExecutor.execute(() -> stream(id, snapshot, request, emitter));
+        } catch (TaskRejectedException e) {
+            // Still before the stream opens, so this is a plain 503 with Retry-After
+            throw new RetryAfterException(ErrorCode.GRADING_WORKER_BUSY, gradingWorkerLimiter.retryAfterSeconds());
+        }
+        return emitter;
+    }
+
+    private void stream(UUID id, AssignmentSnapshot snapshot, SubmissionRequest request, SseEmitter emitter) {
+        try {
+            SubmissionResponse response = submissionService.submitStreaming(id, snapshot, request,
+                    result -> send(emitter, SseEmitter.event().name("result").data(result)));
+            send(emitter, SseEmitter.event().name("completed").data(ApiResponse.success(response)));
+        } catch (RetryAfterException e) {
+            // SSE has no Retry-After header once the stream is open; the retry field carries it instead
+            send(emitter, SseEmitter.event().name("error")
+                    .reconnectTime(e.getRetryAfterSeconds() * 1000L)
+                    .data(ApiResponse.error(e.getErrorCode())));
+        } catch (BusinessException e) {
+            send(emitter, SseEmitter.event().name("error").data(ApiResponse.error(e.getErrorCode())));
+        } catch (Exception e) {
+            log.error("Unexpected exception during streaming submission", e);
+            send(emitter, SseEmitter.event().name("error").data(ApiResponse.error(ErrorCode.INTERNAL_ERROR)));
+        } finally {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Grading keeps going (and results are still stored) if the client has disconnected.
+     */
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropped submission stream event: {}", e.getMessage());
+        }
+    }
+
+    @Operation(
+        summary = "Get Submission History",
+        description = "Lists a user's submissions for an assignment with their grading results, newest first."
+    )
+    @io.swagger.v3.oas.annotations.responses.ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Submissions retrieved successfully"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Assignment not found",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        )
+    })
+    @GetMapping("/{id}/submissions")
+    public ApiResponse<List<SubmissionResponse>> getSubmissions(
+            @Parameter(description = "Assignment ID", required = true) @PathVariable UUID id,
+            @Parameter(description = "User ID", required = true) @RequestParam UUID userId,
+            @Parameter(description = "Maximum number of submissions (clamped to 1-100)") @RequestParam(defaultValue = "20") int limit
+    ) {
+        return ApiResponse.success(submissionService.getSubmissions(id, userId, limit));
+    }
+
+    @Operation(
+        summary = "Get Leaderboard",
+        description = "Ranks users by their best submission (most passed tasks, earliest first on ties)."
+    )
+    @io.swagger.v3.oas.annotations.responses.ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Leaderboard retrieved successfully"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Assignment not found",
+            content = @Content(schema = @Schema(implementation = ApiResponse.class))
+        )
+    })
+    @GetMapping("/{id}/leaderboard")
+    public ApiResponse<List<LeaderboardEntryResponse>> getLeaderboard(
+            @Parameter(description = "Assignment ID", required = true) @PathVariable UUID id,
+            @Parameter(description = "Maximum number of entries (clamped to 1-100)") @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ApiResponse.success(submissionService.getLeaderboard(id, limit));
     }
 }
@@ -0,0 +1,16 @@
+package gdgoc.onewave.connectable.domain.submission.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.UUID;
+
+@Schema(description = "Leaderboard Entry (best submission per user)")
+public record LeaderboardEntryResponse(
+    @Schema(description = "Rank (1-based)")
+    int rank,
+    @Schema(description = "User ID")
+    UUID userId,
+    @Schema(description = "Best submission ID")
+    UUID submissionId,
+    @Schema(description = "Grading summary of the best submission")
+    SubmissionResponse.GradingSummary summary
+) {}
@@ -30,5 +30,10 @@ public record SubmissionResponse(
         int totalCount,
         @Schema(description = "Pass rate", example = "80%")
         String passRate
-    ) {}
+    ) {
+        public static GradingSummary of(int passedCount, int totalCount) {
+            String passRate = totalCount > 0 ? String.format("%.0f%%", (passedCount * 100.0 / totalCount)) : "0%";
+            return new GradingSummary(passedCount, totalCount, passRate);
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package gdgoc.onewave.connectable.domain.submission.repository;
+
+import java.util.UUID;
+
+public interface LeaderboardEntryView {
+
+    UUID getUserId();
+
+    UUID getSubmissionId();
+
+    Integer getPassedCount();
+
+    Integer getTotalCount();
+}
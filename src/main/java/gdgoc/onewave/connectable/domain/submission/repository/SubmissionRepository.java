@@ -1,9 +1,54 @@
 package gdgoc.onewave.connectable.domain.submission.repository;
 
 import gdgoc.onewave.connectable.domain.entity.Submission;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface SubmissionRepository extends JpaRepository<Submission, UUID> {
+
+    /**
+     * A user's submissions for one assignment, newest first.
+     * Served by idx_submission_assignment_user_created.
+     */
+    @Query("""
+            SELECT s FROM Submission s
+            WHERE s.assignment.id = :assignmentId AND s.userId = :userId
+            ORDER BY s.createdAt DESC
+            """)
+    List<Submission> findHistory(@Param("assignmentId") UUID assignmentId,
+                                 @Param("userId") UUID userId,
+                                 Pageable pageable);
+
+    /**
+     * Whether the user has submitted to the assignment before. Derived, so it stops at the
+     * first match (LIMIT 1) rather than counting; served by idx_submission_assignment_user_created.
+     */
+    boolean existsByAssignmentIdAndUserId(UUID assignmentId, UUID userId);
+
+    /**
+     * Best submission per user (most passed tasks, earliest wins ties), read from the
+     * materialized score columns so no grading_result rows are scanned.
+     */
+    @Query(value = """
+            SELECT best.user_id AS "userId",
+                   best.id AS "submissionId",
+                   best.passed_count AS "passedCount",
+                   best.total_count AS "totalCount"
+            FROM (
+                SELECT DISTINCT ON (s.user_id)
+                       s.user_id, s.id, s.passed_count, s.total_count, s.created_at
+                FROM submission s
+                WHERE s.assignment_id = :assignmentId
+                ORDER BY s.user_id, s.passed_count DESC, s.created_at ASC
+            ) best
+            ORDER BY best.passed_count DESC, best.created_at ASC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<LeaderboardEntryView> findLeaderboard(@Param("assignmentId") UUID assignmentId,
+                                               @Param("limit") int limit);
 }
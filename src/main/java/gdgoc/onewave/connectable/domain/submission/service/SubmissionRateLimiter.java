@@ -0,0 +1,75 @@
+package gdgoc.onewave.connectable.domain.submission.service;
+
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.exception.RetryAfterException;
+import gdgoc.onewave.connectable.global.ratelimit.RateLimit;
+import gdgoc.onewave.connectable.global.ratelimit.RateLimitStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Token-bucket limits on submissions per user and per assignment, checked before anything is
+ * written or sent to the worker. Over-limit calls get 429 with {@code Retry-After}.
+ *
+ * <p>Rejections are counted as {@code submission.rate.limited{scope=user|assignment}}.
+ */
+@Component
+public class SubmissionRateLimiter {
+
+    private final RateLimitStore store;
+    private final boolean enabled;
+    private final RateLimit perUser;
+    private final RateLimit perAssignment;
+    private final Counter userLimited;
+    private final Counter assignmentLimited;
+
+    public SubmissionRateLimiter(
+            RateLimitStore submissionRateLimitStore,
+            MeterRegistry meterRegistry,
+            @Value("${submission.rate-limit.enabled:true}") boolean enabled,
+            @Value("${submission.rate-limit.per-user.capacity:5}") int userCapacity,
+            @Value("${submission.rate-limit.per-user.refill-per-minute:5}") double userRefillPerMinute,
+            @Value("${submission.rate-limit.per-assignment.capacity:300}") int assignmentCapacity,
+            @Value("${submission.rate-limit.per-assignment.refill-per-minute:300}") double assignmentRefillPerMinute) {
+        this.store = submissionRateLimitStore;
+        this.enabled = enabled;
+        this.perUser = RateLimit.perMinute(userCapacity, userRefillPerMinute);
+        this.perAssignment = RateLimit.perMinute(assignmentCapacity, assignmentRefillPerMinute);
+        this.userLimited = Counter.builder("submission.rate.limited")
+                .description("Submissions rejected by rate limits")
+                .tag("scope", "user")
+                .register(meterRegistry);
+        this.assignmentLimited = Counter.builder("submission.rate.limited")
+                .description("Submissions rejected by rate limits")
+                .tag("scope", "assignment")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from both buckets, or from neither: when the assignment bucket is empty the
+     * user's token is handed back, so a 429 never costs the caller part of their own quota.
+     *
+     * @throws RetryAfterException TOO_MANY_SUBMISSIONS when either bucket is empty
+     */
+    public void check(UUID assignmentId, String userId) {
+        if (!enabled) {
+            return;
+        }
+        String userKey = "user:" + userId;
+        long retryAfter = store.tryAcquire(userKey, perUser);
+        if (retryAfter > 0) {
+            userLimited.increment();
+            throw new RetryAfterException(ErrorCode.TOO_MANY_SUBMISSIONS, retryAfter);
+        }
+        retryAfter = store.tryAcquire("assignment:" + assignmentId, perAssignment);
+        if (retryAfter > 0) {
+            store.refund(userKey, perUser);
+            assignmentLimited.increment();
+            throw new RetryAfterException(ErrorCode.TOO_MANY_SUBMISSIONS, retryAfter);
+        }
+    }
+}
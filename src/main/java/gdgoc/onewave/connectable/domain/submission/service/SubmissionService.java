@@ -1,24 +1,40 @@
 package gdgoc.onewave.connectable.domain.submission.service;
 
+import gdgoc.onewave.connectable.domain.assignment.cache.AssignmentCache;
+import gdgoc.onewave.connectable.domain.assignment.cache.AssignmentSnapshot;
 import gdgoc.onewave.connectable.domain.assignment.repository.AssignmentRepository;
 import gdgoc.onewave.connectable.domain.entity.Assignment;
-import gdgoc.onewave.connectable.domain.entity.GradingResult;
 import gdgoc.onewave.connectable.domain.entity.Submission;
 import gdgoc.onewave.connectable.domain.entity.SubmissionStatus;
 import gdgoc.onewave.connectable.domain.grading.dto.GradingResultResponse;
-import gdgoc.onewave.connectable.domain.grading.repository.GradingResultRepository;
+import gdgoc.onewave.connectable.domain.grading.queue.GradingJobQueue;
+import gdgoc.onewave.connectable.domain.grading.service.GradingResultStore;
+import gdgoc.onewave.connectable.domain.statistics.service.AssignmentStatsService;
+import gdgoc.onewave.connectable.domain.submission.dto.LeaderboardEntryResponse;
 import gdgoc.onewave.connectable.domain.submission.dto.SubmissionRequest;
 import gdgoc.onewave.connectable.domain.submission.dto.SubmissionResponse;
+import gdgoc.onewave.connectable.domain.submission.repository.LeaderboardEntryView;
 import gdgoc.onewave.connectable.domain.submission.repository.SubmissionRepository;
+import gdgoc.onewave.connectable.global.concurrency.AdaptiveConcurrencyLimiter;
 import gdgoc.onewave.connectable.global.exception.BusinessException;
 import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.infrastructure.probe.SubmissionUrlProbe;
 import gdgoc.onewave.connectable.infrastructure.worker.GradingWorkerClient;
+import gdgoc.onewave.connectable.infrastructure.worker.WorkerWarmer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,74 +42,399 @@ import java.util.stream.Collectors;
 public class SubmissionService {
 
     private final AssignmentRepository assignmentRepository;
+    private final AssignmentCache assignmentCache;
     private final SubmissionRepository submissionRepository;
+    private final SubmissionUrlProbe submissionUrlProbe;
     private final GradingWorkerClient gradingWorkerClient;
-    private final GradingResultRepository gradingResultRepository;
+    private final WorkerWarmer gradingWorkerWarmer;
+    private final GradingResultStore gradingResultStore;
+    private final GradingJobQueue gradingJobQueue;
+    private final AssignmentStatsService assignmentStatsService;
+    private final ObservationRegistry observationRegistry;
+    private final TransactionTemplate transactionTemplate;
 
-    @Transactional
+    private static final int MAX_LIMIT = 100;
+
+    @Value("${worker.fair-queue.enabled:true}")
+    private boolean fairQueueEnabled;
+
+    @Value("${worker.fair-queue.first-attempt-weight:2.0}")
+    private double firstAttemptWeight;
+
+    /**
+     * When on, {@link #submit} only records the submission as PENDING with a grading job, and
+     * whichever instance claims the job grades it (see GradingJobConsumer).
+     */
+    @Value("${grading.queue.enabled:false}")
+    private boolean queueEnabled;
+
+    /**
+     * Grades a submission synchronously. No transaction is open while the URL is probed, the
+     * worker permit is awaited or the worker runs, so callers queued on the worker do not hold
+     * pooled connections: the submission is saved and finished in two short transactions.
+     */
     public SubmissionResponse submit(UUID assignmentId, SubmissionRequest request) {
-        // 1. Find assignment
-        Assignment assignment = assignmentRepository.findById(assignmentId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.ASSIGNMENT_NOT_FOUND));
+        gradingWorkerWarmer.recordActivity();
+        return Observation.createNotStarted("submission.submit", observationRegistry)
+                .highCardinalityKeyValue("assignment.id", String.valueOf(assignmentId))
+                .observe(() -> doSubmit(assignmentId, request));
+    }
+
+    /**
+     * Checks a submission before anything is written or sent to the worker: finds the
+     * assignment (script and subTasks come from the cached snapshot) and fails fast on
+     * unreachable or non-public URLs.
+     *
+     * @throws BusinessException ASSIGNMENT_NOT_FOUND or a SUBMISSION_URL_* probe failure
+     */
+    public AssignmentSnapshot preflight(UUID assignmentId, SubmissionRequest request) {
+        AssignmentSnapshot snapshot = assignmentCache.get(assignmentId);
+        submissionUrlProbe.probe(request.url());
+        return snapshot;
+    }
+
+    private SubmissionResponse doSubmit(UUID assignmentId, SubmissionRequest request) {
+        // 1. Find assignment and probe the URL
+        AssignmentSnapshot snapshot = preflight(assignmentId, request);
+        if (queueEnabled) {
+            return transactionTemplate.execute(status ->
+                    enqueue(assignmentRepository.getReferenceById(assignmentId), request));
+        }
+        AdaptiveConcurrencyLimiter.Lane lane = gradingLane(assignmentId, UUID.fromString(request.userId()));
 
-        // 2. Create submission temporarily (status=FAILED initially)
-        Submission submission = Submission.builder()
+        // 2. Commit the submission (status=FAILED until grading finishes)
+        Submission submission = transactionTemplate.execute(status -> submissionRepository.save(Submission.builder()
                 .userId(UUID.fromString(request.userId()))
-                .assignment(assignment)
+                .assignment(assignmentRepository.getReferenceById(assignmentId))
                 .fileUrl(request.url())
                 .status(SubmissionStatus.FAILED)
-                .build();
-        submission = submissionRepository.save(submission);
+                .passedCount(0)
+                .totalCount(0)
+                .build()));
 
         // 3. Call grading worker
         GradingWorkerClient.GradingRequest gradingRequest = new GradingWorkerClient.GradingRequest(
                 submission.getId(),
                 request.url(),
-                assignment.getAiScript(),
-                assignment.getSubTasks()
+                snapshot.aiScript(),
+                snapshot.subTasks(),
+                snapshot.scriptHash()
         );
-        GradingWorkerClient.GradingResponse gradingResponse = gradingWorkerClient.grade(gradingRequest);
+        GradingWorkerClient.GradingResponse gradingResponse;
+        try {
+            gradingResponse = gradingWorkerClient.grade(gradingRequest, lane, item -> {});
+        } catch (RuntimeException e) {
+            // The worker never ran (e.g. busy); drop the row so the rejected call leaves nothing behind
+            transactionTemplate.executeWithoutResult(status -> submissionRepository.deleteById(submission.getId()));
+            throw e;
+        }
+
+        return transactionTemplate.execute(status ->
+                finish(submission, assignmentRepository.getReferenceById(assignmentId), snapshot, gradingResponse));
+    }
+
+    /**
+     * Queued mode: commits the submission as PENDING together with its grading job.
+     */
+    private SubmissionResponse enqueue(Assignment assignment, SubmissionRequest request) {
+        // Flushed so the job's foreign key sees the row
+        Submission submission = submissionRepository.saveAndFlush(Submission.builder()
+                .userId(UUID.fromString(request.userId()))
+                .assignment(assignment)
+                .fileUrl(request.url())
+                .status(SubmissionStatus.PENDING)
+                .passedCount(0)
+                .totalCount(0)
+                .build());
+        gradingJobQueue.enqueue(submission.getId());
+        return toResponse(submission, List.of());
+    }
 
+    /**
+     * Runs the worker for a queued submission, possibly created on another instance. Writes
+     * nothing: the caller stores the outcome with {@link #completeQueued} in the transaction
+     * that also finishes the job. A worker timeout, network error or 5xx is thrown as
+     * GRADING_WORKER_UNAVAILABLE, so the job is retried instead of storing a failed grade.
+     */
+    public GradingWorkerClient.GradingResponse gradeQueued(UUID submissionId) {
+        Submission submission = submissionRepository.findById(submissionId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.SUBMISSION_NOT_FOUND));
+        UUID assignmentId = submission.getAssignment().getId();
+        AssignmentSnapshot snapshot = assignmentCache.get(assignmentId);
+        // The submission already exists, so there is no first-attempt weighting here
+        AdaptiveConcurrencyLimiter.Lane lane = fairQueueEnabled
+                ? new AdaptiveConcurrencyLimiter.Lane(assignmentId.toString(), submission.getUserId().toString(), 1.0)
+                : AdaptiveConcurrencyLimiter.Lane.DEFAULT;
+        return gradingWorkerClient.gradeOrThrowIfUnavailable(new GradingWorkerClient.GradingRequest(
+                submissionId,
+                submission.getFileUrl(),
+                snapshot.aiScript(),
+                snapshot.subTasks(),
+                snapshot.scriptHash()
+        ), lane);
+    }
+
+    @Transactional
+    public SubmissionResponse completeQueued(UUID submissionId, GradingWorkerClient.GradingResponse gradingResponse) {
+        Submission submission = submissionRepository.findById(submissionId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.SUBMISSION_NOT_FOUND));
+        Assignment assignment = submission.getAssignment();
+        return finish(submission, assignment, assignmentCache.get(assignment.getId()), gradingResponse);
+    }
+
+    /**
+     * Current state of a submission first answered as PENDING (queued mode), so an
+     * Idempotency-Key replay reports the grade once the job has finished instead of the stored
+     * PENDING response. Any other response is final and returned as it is.
+     */
+    @Transactional(readOnly = true)
+    public SubmissionResponse refresh(SubmissionResponse response) {
+        if (response.status() != SubmissionStatus.PENDING) {
+            return response;
+        }
+        return submissionRepository.findById(response.id())
+                .map(submission -> {
+                    List<String> subTasks = assignmentCache.get(submission.getAssignment().getId()).subTasks();
+                    return toResponse(submission, gradingResultStore.load(List.of(submission), subTasks)
+                            .getOrDefault(submission.getId(), List.of()));
+                })
+                .orElse(response);
+    }
+
+    /**
+     * Marks a queued submission failed once its job is dead-lettered.
+     */
+    @Transactional
+    public void failQueued(UUID submissionId) {
+        submissionRepository.findById(submissionId).ifPresent(submission ->
+                submissionRepository.save(Submission.builder()
+                        .id(submission.getId())
+                        .userId(submission.getUserId())
+                        .assignment(submission.getAssignment())
+                        .fileUrl(submission.getFileUrl())
+                        .status(SubmissionStatus.FAILED)
+                        .passedCount(0)
+                        .totalCount(0)
+                        .createdAt(submission.getCreatedAt())
+                        .build()));
+    }
+
+    /**
+     * Stores the worker's outcome: final status, score, results and assignment stats.
+     */
+    private SubmissionResponse finish(Submission submission, Assignment assignment, AssignmentSnapshot snapshot,
+                                      GradingWorkerClient.GradingResponse gradingResponse) {
         // 4. Determine status based on worker response
         SubmissionStatus finalStatus = gradingResponse.success() ? SubmissionStatus.COMPLETED : SubmissionStatus.FAILED;
 
-        // 5. Update submission with final status
+        // 5. Update submission with final status, score and (in compact mode) packed results
+        List<GradingResultResponse> gradingResultResponses = gradingResponse.results().stream()
+                .map(SubmissionService::toResult)
+                .collect(Collectors.toList());
+        int passedCount = countPassed(gradingResultResponses);
+        byte[] resultBits = gradingResultStore.encode(snapshot.subTasks(), gradingResultResponses);
+
         submission = Submission.builder()
                 .id(submission.getId())
                 .userId(submission.getUserId())
                 .assignment(assignment)
-                .fileUrl(request.url())
+                .fileUrl(submission.getFileUrl())
                 .status(finalStatus)
+                .passedCount(passedCount)
+                .totalCount(gradingResultResponses.size())
+                .resultBits(resultBits)
                 .createdAt(submission.getCreatedAt())
                 .build();
         Submission finalSubmission = submissionRepository.save(submission);
 
-        // 6. Create and save GradingResult entities
-        List<GradingResult> gradingResults = gradingResponse.results().stream()
-                .map(item -> GradingResult.builder()
-                        .submission(finalSubmission)
-                        .taskName(item.taskName())
-                        .isPassed(item.isPassed())
-                        .build())
-                .collect(Collectors.toList());
-        gradingResultRepository.saveAll(gradingResults);
+        // 6. Store per-task rows unless they were packed into the submission row
+        if (resultBits == null) {
+            gradingResultStore.saveRows(finalSubmission, gradingResultResponses);
+        }
+        assignmentStatsService.recordSubmission(assignment.getId(), finalSubmission.getUserId(), gradingResultResponses);
+
+        return toResponse(finalSubmission, gradingResultResponses);
+    }
+
+    /**
+     * Grades like {@link #submit}, but commits the submission first and then stores each
+     * result in its own short transaction as the worker reports it, so results survive a
+     * worker timeout and can be pushed to {@code onResult} (e.g. over SSE) as they arrive.
+     * Results are always stored as rows here, since the compact bitset needs all of them.
+     */
+    public SubmissionResponse submitStreaming(UUID assignmentId, SubmissionRequest request,
+                                              Consumer<GradingResultResponse> onResult) {
+        return submitStreaming(assignmentId, preflight(assignmentId, request), request, onResult);
+    }
+
+    /**
+     * As {@link #submitStreaming(UUID, SubmissionRequest, Consumer)}, for a submission that
+     * already passed {@link #preflight}; lets the caller report those failures before it
+     * opens the stream.
+     */
+    public SubmissionResponse submitStreaming(UUID assignmentId, AssignmentSnapshot snapshot,
+                                              SubmissionRequest request, Consumer<GradingResultResponse> onResult) {
+        gradingWorkerWarmer.recordActivity();
+        return Observation.createNotStarted("submission.submit.stream", observationRegistry)
+                .highCardinalityKeyValue("assignment.id", String.valueOf(assignmentId))
+                .observe(() -> doSubmitStreaming(assignmentId, snapshot, request, onResult));
+    }
+
+    private SubmissionResponse doSubmitStreaming(UUID assignmentId, AssignmentSnapshot snapshot,
+                                                 SubmissionRequest request, Consumer<GradingResultResponse> onResult) {
+        AdaptiveConcurrencyLimiter.Lane lane = gradingLane(assignmentId, UUID.fromString(request.userId()));
+
+        // 1. Commit the submission (status=FAILED until grading finishes)
+        Submission submission = transactionTemplate.execute(status -> submissionRepository.save(Submission.builder()
+                .userId(UUID.fromString(request.userId()))
+                .assignment(assignmentRepository.getReferenceById(assignmentId))
+                .fileUrl(request.url())
+                .status(SubmissionStatus.FAILED)
+                .passedCount(0)
+                .totalCount(0)
+                .build()));
+
+        // 2. Call grading worker, storing each reported result right away
+        GradingWorkerClient.GradingRequest gradingRequest = new GradingWorkerClient.GradingRequest(
+                submission.getId(),
+                request.url(),
+                snapshot.aiScript(),
+                snapshot.subTasks(),
+                snapshot.scriptHash()
+        );
+        List<GradingResultResponse> stored = new ArrayList<>();
+        GradingWorkerClient.GradingResponse gradingResponse;
+        try {
+            gradingResponse = gradingWorkerClient.grade(gradingRequest, lane, item -> {
+                GradingResultResponse result = toResult(item);
+                transactionTemplate.executeWithoutResult(status ->
+                        gradingResultStore.saveRows(submission, List.of(result)));
+                stored.add(result);
+                onResult.accept(result);
+            });
+        } catch (RuntimeException e) {
+            // Nothing was reported (e.g. worker busy or a client error); drop the row as submit() does
+            if (stored.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> submissionRepository.deleteById(submission.getId()));
+            }
+            throw e;
+        }
 
-        // 7. Build response with grading results
-        List<GradingResultResponse> gradingResultResponses = gradingResults.stream()
-                .map(gr -> new GradingResultResponse(gr.getTaskName(), gr.getIsPassed()))
+        // 3. Store results the worker never reported (marked failed) and finish the submission
+        List<GradingResultResponse> gradingResultResponses = gradingResponse.results().stream()
+                .map(SubmissionService::toResult)
                 .collect(Collectors.toList());
+        List<GradingResultResponse> remaining =
+                gradingResultResponses.subList(Math.min(stored.size(), gradingResultResponses.size()),
+                        gradingResultResponses.size());
+        int passedCount = countPassed(gradingResultResponses);
+        SubmissionStatus finalStatus = gradingResponse.success() ? SubmissionStatus.COMPLETED : SubmissionStatus.FAILED;
+
+        Submission finalSubmission = transactionTemplate.execute(status -> {
+            Submission saved = submissionRepository.save(Submission.builder()
+                    .id(submission.getId())
+                    .userId(submission.getUserId())
+                    .assignment(assignmentRepository.getReferenceById(assignmentId))
+                    .fileUrl(request.url())
+                    .status(finalStatus)
+                    .passedCount(passedCount)
+                    .totalCount(gradingResultResponses.size())
+                    .createdAt(submission.getCreatedAt())
+                    .build());
+            if (!remaining.isEmpty()) {
+                gradingResultStore.saveRows(saved, remaining);
+            }
+            assignmentStatsService.recordSubmission(assignmentId, saved.getUserId(), gradingResultResponses);
+            return saved;
+        });
+        remaining.forEach(onResult);
+
+        return toResponse(finalSubmission, gradingResultResponses);
+    }
+
+    @Transactional(readOnly = true)
+    public List<SubmissionResponse> getSubmissions(UUID assignmentId, UUID userId, int limit) {
+        AssignmentSnapshot snapshot = assignmentCache.get(assignmentId);
 
-        int passedCount = (int) gradingResults.stream().filter(GradingResult::getIsPassed).count();
-        int totalCount = gradingResults.size();
-        String passRate = totalCount > 0 ? String.format("%.0f%%", (passedCount * 100.0 / totalCount)) : "0%";
+        List<Submission> submissions = submissionRepository.findHistory(
+                assignmentId, userId, PageRequest.of(0, clampLimit(limit)));
+        if (submissions.isEmpty()) {
+            return List.of();
+        }
+
+        // Compact results decode in memory; row results come from one IN query, never per submission
+        Map<UUID, List<GradingResultResponse>> resultsBySubmission =
+                gradingResultStore.load(submissions, snapshot.subTasks());
+
+        return submissions.stream()
+                .map(s -> toResponse(s, resultsBySubmission.getOrDefault(s.getId(), List.of())))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryResponse> getLeaderboard(UUID assignmentId, int limit) {
+        assignmentCache.get(assignmentId);
+
+        List<LeaderboardEntryView> rows = submissionRepository.findLeaderboard(
+                assignmentId, clampLimit(limit));
+
+        List<LeaderboardEntryResponse> leaderboard = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            LeaderboardEntryView row = rows.get(i);
+            leaderboard.add(new LeaderboardEntryResponse(
+                    i + 1,
+                    row.getUserId(),
+                    row.getSubmissionId(),
+                    SubmissionResponse.GradingSummary.of(row.getPassedCount(), row.getTotalCount())
+            ));
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Keeps list sizes in 1..MAX_LIMIT: zero would fail PageRequest and a negative LIMIT fails in SQL.
+     */
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Worker queue lane: assignments share the worker round-robin, users within an assignment
+     * by weight, with a user's first attempt weighted up over resubmissions.
+     * Must run before this submission is saved.
+     */
+    private AdaptiveConcurrencyLimiter.Lane gradingLane(UUID assignmentId, UUID userId) {
+        if (!fairQueueEnabled) {
+            return AdaptiveConcurrencyLimiter.Lane.DEFAULT;
+        }
+        double weight = firstAttemptWeight != 1.0
+                && !submissionRepository.existsByAssignmentIdAndUserId(assignmentId, userId)
+                ? firstAttemptWeight
+                : 1.0;
+        return new AdaptiveConcurrencyLimiter.Lane(assignmentId.toString(), userId.toString(), weight);
+    }
+
+    /**
+     * A worker result without isPassed counts as failed rather than failing the whole submission.
+     */
+    private static GradingResultResponse toResult(GradingWorkerClient.GradingResultItem item) {
+        return new GradingResultResponse(item.taskName(), Boolean.TRUE.equals(item.isPassed()));
+    }
+
+    private static int countPassed(List<GradingResultResponse> results) {
+        return (int) results.stream().filter(result -> Boolean.TRUE.equals(result.isPassed())).count();
+    }
+
+    private SubmissionResponse toResponse(Submission submission, List<GradingResultResponse> results) {
+        int passedCount = countPassed(results);
 
         return new SubmissionResponse(
-                finalSubmission.getId(),
-                finalSubmission.getFileUrl(),
-                finalSubmission.getStatus(),
-                gradingResultResponses,
-                new SubmissionResponse.GradingSummary(passedCount, totalCount, passRate),
-                finalSubmission.getCreatedAt()
+                submission.getId(),
+                submission.getFileUrl(),
+                submission.getStatus(),
+                results,
+                SubmissionResponse.GradingSummary.of(passedCount, results.size()),
+                submission.getCreatedAt()
         );
     }
 }
@@ -0,0 +1,239 @@
+package gdgoc.onewave.connectable.global.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit for calls to a downstream with unknown, changing capacity.
+ *
+ * <p>The limit grows by one after each successful call made while the limit was fully used, and
+ * shrinks by {@code backoffRatio} when a call fails with an overload signal (timeout, 5xx) or
+ * takes longer than {@code latencyThreshold}. Callers over the limit wait in a bounded queue
+ * for at most {@code maxWait}; beyond that they are rejected so the caller can answer
+ * "busy, retry" instead of piling more work onto the downstream.
+ *
+ * <p>The queue is fair across {@link Lane lanes}: freed permits go round-robin across lane
+ * groups and by weighted deficit round-robin across members of a group, so one busy group or
+ * member cannot starve the rest. Callers using {@link Lane#DEFAULT} share one FIFO lane.
+ *
+ * <p>Exports {@code <name>.limit}, {@code <name>.in.flight}, {@code <name>.queue.depth},
+ * {@code <name>.queue.lanes{level}}, {@code <name>.queue.lane.depth{level}} (lane depth seen
+ * by each queued call) and {@code <name>.rejected}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public record Settings(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double backoffRatio,
+            Duration latencyThreshold,
+            int maxQueueSize,
+            Duration maxWait
+    ) {
+        public static final Settings DEFAULTS =
+                new Settings(10, 2, 100, 0.9, Duration.ofSeconds(30), 100, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Where a queued call waits: {@code group} lanes share permits round-robin, {@code member}
+     * lanes within a group share by {@code weight} (2.0 = served twice as often).
+     */
+    public record Lane(String group, String member, double weight) {
+        public static final Lane DEFAULT = new Lane("", "", 1.0);
+
+        public Lane {
+            if (!(weight > 0)) {
+                throw new IllegalArgumentException("weight must be positive: " + weight);
+            }
+        }
+    }
+
+    private static final double RTT_SMOOTHING = 0.2;
+
+    private final Settings settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final DeficitRoundRobinQueue<CompletableFuture<Void>> waiters = new DeficitRoundRobinQueue<>();
+    private final Counter rejected;
+    private final DistributionSummary groupLaneDepth;
+    private final DistributionSummary memberLaneDepth;
+
+    private double limit;
+    private int inFlight;
+    private double smoothedRttNanos;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry registry, String name, Settings settings) {
+        this.settings = settings;
+        this.limit = settings.initialLimit();
+        Gauge.builder(name + ".limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder(name + ".in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls holding a permit")
+                .register(registry);
+        Gauge.builder(name + ".queue.depth", this, AdaptiveConcurrencyLimiter::getQueueDepth)
+                .description("Calls waiting for a permit")
+                .register(registry);
+        Gauge.builder(name + ".queue.lanes", this, limiter -> limiter.waiters.groupCount())
+                .description("Lanes with waiting calls")
+                .tag("level", "group")
+                .register(registry);
+        Gauge.builder(name + ".queue.lanes", this, limiter -> limiter.waiters.memberCount())
+                .description("Lanes with waiting calls")
+                .tag("level", "member")
+                .register(registry);
+        this.groupLaneDepth = DistributionSummary.builder(name + ".queue.lane.depth")
+                .description("Depth of the lane a call joined, including itself")
+                .tag("level", "group")
+                .register(registry);
+        this.memberLaneDepth = DistributionSummary.builder(name + ".queue.lane.depth")
+                .description("Depth of the lane a call joined, including itself")
+                .tag("level", "member")
+                .register(registry);
+        this.rejected = Counter.builder(name + ".rejected")
+                .description("Calls rejected because the queue was full or the wait timed out")
+                .register(registry);
+    }
+
+    public Optional<Permit> acquire() {
+        return acquire(Lane.DEFAULT);
+    }
+
+    /**
+     * Takes a permit, waiting up to {@code maxWait} in {@code lane} if the limit is reached.
+     *
+     * @return the permit, or empty when the call should be rejected as busy
+     */
+    public Optional<Permit> acquire(Lane lane) {
+        CompletableFuture<Void> waiter;
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return Optional.of(new Permit());
+            }
+            if (waiters.size() >= settings.maxQueueSize()) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            waiter = new CompletableFuture<>();
+            memberLaneDepth.record(waiters.add(lane.group(), lane.member(), lane.weight(), waiter));
+            groupLaneDepth.record(waiters.groupDepth(lane.group()));
+        } finally {
+            lock.unlock();
+        }
+        return await(waiter);
+    }
+
+    /**
+     * Suggested client back-off: one smoothed call latency, at least a second.
+     */
+    public long retryAfterSeconds() {
+        lock.lock();
+        try {
+            return Math.max(1, Math.round(smoothedRttNanos / TimeUnit.SECONDS.toNanos(1)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getQueueDepth() {
+        return waiters.size();
+    }
+
+    private Optional<Permit> await(CompletableFuture<Void> waiter) {
+        try {
+            waiter.get(settings.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+            return Optional.of(new Permit());
+        } catch (TimeoutException | ExecutionException e) {
+            return abandon(waiter, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandon(waiter, true);
+        }
+    }
+
+    private Optional<Permit> abandon(CompletableFuture<Void> waiter, boolean interrupted) {
+        lock.lock();
+        try {
+            if (waiters.remove(waiter)) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            // Granted between the timeout and taking the lock
+            if (!interrupted) {
+                return Optional.of(new Permit());
+            }
+            inFlight--;
+            grantWaiters();
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onComplete(long rttNanos, boolean overloaded) {
+        lock.lock();
+        try {
+            smoothedRttNanos = smoothedRttNanos == 0
+                    ? rttNanos
+                    : smoothedRttNanos + RTT_SMOOTHING * (rttNanos - smoothedRttNanos);
+            boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+
+            if (overloaded || rttNanos > settings.latencyThreshold().toNanos()) {
+                limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+            } else if (saturated) {
+                limit = Math.min(settings.maxLimit(), limit + 1);
+            }
+            grantWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void grantWaiters() {
+        while (inFlight < (int) limit && !waiters.isEmpty()) {
+            inFlight++;
+            waiters.poll().complete(null);
+        }
+    }
+
+    /**
+     * A held slot. Release exactly once, reporting whether the call showed overload.
+     */
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private boolean released;
+
+        private Permit() {
+        }
+
+        public void release(boolean overloaded) {
+            if (released) {
+                return;
+            }
+            released = true;
+            onComplete(System.nanoTime() - startNanos, overloaded);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package gdgoc.onewave.connectable.global.concurrency;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Two-level fair queue: round-robin across groups, deficit round-robin across members of a
+ * group. Each item costs {@code 1 / weight} of a member's per-round quantum of 1, so a weight
+ * of 2 lets a member be served twice as often as its weight-1 neighbours in the same group.
+ *
+ * <p>With a single group and member this is a plain FIFO. Not thread-safe; the owner locks.
+ */
+final class DeficitRoundRobinQueue<T> {
+
+    private static final double QUANTUM = 1.0;
+
+    private final Map<String, Group> groups = new HashMap<>();
+    private final Deque<Group> activeGroups = new ArrayDeque<>();
+    private final Map<T, Entry> entries = new IdentityHashMap<>();
+    private int memberCount;
+
+    /**
+     * @return depth of the item's member lane after adding it
+     */
+    int add(String group, String member, double weight, T item) {
+        Group g = groups.computeIfAbsent(group, key -> {
+            Group created = new Group(key);
+            activeGroups.addLast(created);
+            return created;
+        });
+        Member m = g.members.computeIfAbsent(member, key -> {
+            Member created = new Member(key, g);
+            g.active.addLast(created);
+            memberCount++;
+            return created;
+        });
+        Entry entry = new Entry(item, QUANTUM / weight, m);
+        m.entries.addLast(entry);
+        g.depth++;
+        entries.put(item, entry);
+        return m.entries.size();
+    }
+
+    /**
+     * @return the next item by fair share, or null when empty
+     */
+    T poll() {
+        Group g = activeGroups.pollFirst();
+        if (g == null) {
+            return null;
+        }
+        Entry entry = g.pollNext();
+        if (g.depth > 0) {
+            activeGroups.addLast(g);
+        } else {
+            groups.remove(g.key);
+        }
+        entries.remove(entry.item);
+        return entry.item;
+    }
+
+    boolean remove(T item) {
+        Entry entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        Member m = entry.member;
+        Group g = m.group;
+        m.entries.remove(entry);
+        g.depth--;
+        if (m.entries.isEmpty()) {
+            g.active.remove(m);
+            g.members.remove(m.key);
+            memberCount--;
+        }
+        if (g.depth == 0) {
+            activeGroups.remove(g);
+            groups.remove(g.key);
+        }
+        return true;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    int groupCount() {
+        return groups.size();
+    }
+
+    int memberCount() {
+        return memberCount;
+    }
+
+    int groupDepth(String group) {
+        Group g = groups.get(group);
+        return g != null ? g.depth : 0;
+    }
+
+    private final class Entry {
+        private final T item;
+        private final double cost;
+        private final Member member;
+
+        private Entry(T item, double cost, Member member) {
+            this.item = item;
+            this.cost = cost;
+            this.member = member;
+        }
+    }
+
+    private final class Member {
+        private final String key;
+        private final Group group;
+        private final Deque<Entry> entries = new ArrayDeque<>();
+        private double deficit;
+        private boolean visited;
+
+        private Member(String key, Group group) {
+            this.key = key;
+            this.group = group;
+        }
+    }
+
+    private final class Group {
+        private final String key;
+        private final Map<String, Member> members = new HashMap<>();
+        private final Deque<Member> active = new ArrayDeque<>();
+        private int depth;
+
+        private Group(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Serves the current member while its deficit covers the head item, then moves on,
+         * topping up each member's deficit by one quantum per visit.
+         */
+        private Entry pollNext() {
+            while (true) {
+                Member m = active.peekFirst();
+                if (!m.visited) {
+                    m.deficit += QUANTUM;
+                    m.visited = true;
+                }
+                Entry head = m.entries.peekFirst();
+                if (head.cost <= m.deficit) {
+                    m.deficit -= head.cost;
+                    m.entries.pollFirst();
+                    depth--;
+                    if (m.entries.isEmpty()) {
+                        active.pollFirst();
+                        members.remove(m.key);
+                        memberCount--;
+                    }
+                    return head;
+                }
+                active.pollFirst();
+                m.visited = false;
+                active.addLast(m);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package gdgoc.onewave.connectable.global.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends read-only transactions to a replica pool and everything else to the primary.
+ *
+ * <p>Must sit behind a {@code LazyConnectionDataSourceProxy}: the transaction's read-only flag
+ * is only known once it has begun, so the physical connection has to be fetched at the first
+ * statement rather than at {@code begin}.
+ *
+ * <p>A request that has used the primary for anything but a read-only transaction stays on
+ * the primary for the rest of the request, so it reads its own writes despite replication
+ * lag. The replica is taken out of rotation when a connection to it fails or when
+ * {@link #checkReplica} finds it unreachable or more than {@code maxLag} behind, and is put
+ * back by the next successful check. Without a replica everything goes to the primary.
+ *
+ * <p>Exports {@code datasource.routing{target}}, {@code datasource.replica.available} and
+ * {@code datasource.replica.lag}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+    private static final String PINNED_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".PINNED";
+
+    // An idle primary sends no WAL, so a fully replayed replica counts as caught up
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()), 0)
+            END
+            """;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+
+    private volatile boolean replicaAvailable = true;
+    private volatile double replicaLagSeconds;
+
+    /**
+     * @param replica the replica pool, or {@code null} to route everything to the primary
+     */
+    public ReplicaRoutingDataSource(MeterRegistry meterRegistry, DataSource primary, DataSource replica,
+                                    Duration maxLag) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        if (replica != null) {
+            targets.put(REPLICA, replica);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        primaryRoutes = routes(meterRegistry, PRIMARY);
+        replicaRoutes = routes(meterRegistry, REPLICA);
+        Gauge.builder("datasource.replica.available", this, r -> r.isReplicaAvailable() ? 1 : 0)
+                .description("Whether read-only transactions currently go to the replica")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, r -> r.replicaLagSeconds)
+                .description("Replication lag measured by the last replica check")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinToPrimary();
+            return PRIMARY;
+        }
+        return isReplicaAvailable() && !isPinnedToPrimary() ? REPLICA : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (determineTargetDataSource() == replica) {
+            try {
+                Connection connection = source.get(replica);
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                markReplicaUnavailable("connection failed: " + e.getMessage());
+            }
+        }
+        Connection connection = source.get(primary);
+        primaryRoutes.increment();
+        return connection;
+    }
+
+    /**
+     * Measures replication lag and takes the replica in or out of rotation.
+     */
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+    public void checkReplica() {
+        if (replica == null) {
+            return;
+        }
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            replicaLagSeconds = resultSet.getDouble(1);
+        } catch (SQLException e) {
+            markReplicaUnavailable("check failed: " + e.getMessage());
+            return;
+        }
+        if (replicaLagSeconds * 1000 > maxLag.toMillis()) {
+            markReplicaUnavailable("lagging %.1fs behind".formatted(replicaLagSeconds));
+        } else if (!replicaAvailable) {
+            replicaAvailable = true;
+            log.info("Read replica back in rotation (lag {}s)", replicaLagSeconds);
+        }
+    }
+
+    public boolean isReplicaAvailable() {
+        return replica != null && replicaAvailable;
+    }
+
+    /**
+     * Closes the replica pool; the primary is a bean of its own and closed by the container.
+     */
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void markReplicaUnavailable(String reason) {
+        if (replicaAvailable) {
+            replicaAvailable = false;
+            log.warn("Read replica out of rotation, reading from the primary: {}", reason);
+        }
+    }
+
+    private static boolean isPinnedToPrimary() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null && request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    private static void pinToPrimary() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static Counter routes(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing")
+                .description("Physical connections handed out, by target")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get(DataSource dataSource) throws SQLException;
+    }
+}
@@ -10,19 +10,29 @@ public enum ErrorCode {
     // Common
     INVALID_REQUEST(HttpStatus.BAD_REQUEST, "C001", "Invalid request"),
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "C002", "Internal server error"),
+    INVALID_IDEMPOTENCY_KEY(HttpStatus.BAD_REQUEST, "C003", "Idempotency-Key must be 1-255 characters"),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.BAD_REQUEST, "C004", "Idempotency-Key was already used with a different request"),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS(HttpStatus.CONFLICT, "C005", "A request with this Idempotency-Key is still in progress"),
     
     // Assignment
     ASSIGNMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "A001", "Assignment not found"),
     AI_GENERATION_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "A002", "Failed to generate AI script"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "A003", "Invalid pagination cursor"),
     
     // Submission
     SUBMISSION_NOT_FOUND(HttpStatus.NOT_FOUND, "S001", "Submission not found"),
     INVALID_FILE_TYPE(HttpStatus.BAD_REQUEST, "S002", "Only .zip files are allowed"),
     FILE_TOO_LARGE(HttpStatus.BAD_REQUEST, "S003", "File size exceeds limit"),
     FILE_UPLOAD_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "S004", "Failed to upload file"),
+    SUBMISSION_URL_BLOCKED(HttpStatus.BAD_REQUEST, "S005", "Submission URL must resolve to a public address"),
+    SUBMISSION_URL_UNREACHABLE(HttpStatus.BAD_REQUEST, "S006", "Submission URL is unreachable"),
+    SUBMISSION_URL_ERROR_STATUS(HttpStatus.BAD_REQUEST, "S007", "Submission URL did not return a page"),
+    TOO_MANY_SUBMISSIONS(HttpStatus.TOO_MANY_REQUESTS, "S008", "Too many submissions, please retry later"),
     
     // Grading
-    GRADING_TRIGGER_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "G001", "Failed to trigger grading");
+    GRADING_TRIGGER_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, "G001", "Failed to trigger grading"),
+    GRADING_WORKER_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "G002", "Grading worker is busy, please retry later"),
+    GRADING_WORKER_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "G003", "Grading worker is unavailable, please retry later");
 
     private final HttpStatus status;
     private final String code;
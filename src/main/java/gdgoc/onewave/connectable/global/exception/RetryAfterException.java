@@ -0,0 +1,17 @@
+package gdgoc.onewave.connectable.global.exception;
+
+import lombok.Getter;
+
+/**
+ * A temporary refusal; the handler adds a {@code Retry-After} header with the suggested delay.
+ */
+@Getter
+public class RetryAfterException extends BusinessException {
+
+    private final long retryAfterSeconds;
+
+    public RetryAfterException(ErrorCode errorCode, long retryAfterSeconds) {
+        super(errorCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
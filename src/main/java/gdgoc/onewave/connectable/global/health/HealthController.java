@@ -16,11 +16,4 @@ public class HealthController {
         response.put("status", "UP");
         return ResponseEntity.ok(response);
     }
-
-    @GetMapping("/actuator/health")
-    public ResponseEntity<Map<String, String>> actuatorHealth() {
-        Map<String, String> response = new HashMap<>();
-        response.put("status", "UP");
-        return ResponseEntity.ok(response);
-    }
 }
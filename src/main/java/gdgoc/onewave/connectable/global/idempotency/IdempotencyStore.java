@@ -0,0 +1,126 @@
+package gdgoc.onewave.connectable.global.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import gdgoc.onewave.connectable.global.exception.BusinessException;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs an action at most once per {@code Idempotency-Key}. A retry with the same key gets the
+ * stored result, or waits for the first execution if it is still running, instead of starting
+ * another Gemini generation or grading run.
+ *
+ * <p>Only successful results are kept, for {@code idempotency.ttl}; a failure frees the key so
+ * the client can retry. Reusing a key with a different request body is rejected. Keys are held
+ * per instance; a retry that lands on another instance runs again. A stored result that is not
+ * final (e.g. a queued submission) can be brought up to date on replay with {@code onReplay}.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Entry> entries;
+    private final Duration inFlightWait;
+    private final Counter replayed;
+
+    public IdempotencyStore(
+            MeterRegistry meterRegistry,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.max-entries:100000}") long maxEntries,
+            @Value("${idempotency.in-flight-wait:3m}") Duration inFlightWait) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.inFlightWait = inFlightWait;
+        this.replayed = Counter.builder("idempotency.replayed")
+                .description("Requests answered from a stored or in-flight execution")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency");
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result) {}
+
+    /**
+     * @param scope   namespaces the key (endpoint and caller), so keys never collide across them
+     * @param key     client-supplied key, or null to just run the action
+     * @param request the request body; a retry must send an equal one
+     */
+    public <T> T execute(String scope, String key, Object request, Supplier<T> action) {
+        return execute(scope, key, request, action, UnaryOperator.identity());
+    }
+
+    /**
+     * @param onReplay applied to the stored result before a retry gets it, to re-read state
+     *                 that may have changed since the first response; never to the first call
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, Object request, Supplier<T> action, UnaryOperator<T> onReplay) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException(ErrorCode.INVALID_IDEMPOTENCY_KEY);
+        }
+
+        Entry created = new Entry(request, new CompletableFuture<>());
+        String cacheKey = scope + ":" + key;
+        Entry entry = entries.asMap().putIfAbsent(cacheKey, created);
+        if (entry == null) {
+            return (T) run(cacheKey, created, action);
+        }
+        if (!Objects.equals(entry.request(), request)) {
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+        replayed.increment();
+        return onReplay.apply((T) await(entry.result()));
+    }
+
+    private Object run(String cacheKey, Entry entry, Supplier<?> action) {
+        try {
+            Object result = action.get();
+            entry.result().complete(result);
+            return result;
+        } catch (Throwable e) {
+            // Errors too: otherwise the entry never completes and blocks the key for the whole ttl
+            entries.asMap().remove(cacheKey, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(inFlightWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // The first execution failed; surface the same error to requests that attached to it
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR);
+        } catch (TimeoutException e) {
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+        }
+    }
+}
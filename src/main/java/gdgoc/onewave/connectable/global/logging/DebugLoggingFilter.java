@@ -0,0 +1,63 @@
+package gdgoc.onewave.connectable.global.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Marks a request for verbose logging when it carries {@code X-Debug-Logging: <token>} and the
+ * token matches {@code debug-logging.token}.
+ *
+ * <p>The flag lives in the MDC for the duration of the request, so clients that run on the
+ * request thread (e.g. {@code GradingWorkerClient}) can log full payloads for just that call.
+ * Full payloads are costly and may hold user data, so without a configured token the header
+ * is ignored and anonymous clients cannot switch it on.
+ */
+@Component
+public class DebugLoggingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Debug-Logging";
+    public static final String MDC_KEY = "debugLogging";
+
+    private final byte[] token;
+
+    public DebugLoggingFilter(@Value("${debug-logging.token:}") String token) {
+        this.token = token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static boolean isDebugRequested() {
+        return "true".equals(MDC.get(MDC_KEY));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!isAuthorized(request.getHeader(HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MDC.put(MDC_KEY, "true");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+
+    private boolean isAuthorized(String header) {
+        if (token.length == 0 || header == null) {
+            return false;
+        }
+        // Constant-time, so response timing does not leak the token
+        return MessageDigest.isEqual(token, header.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,48 @@
+package gdgoc.onewave.connectable.global.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency timer for an outbound call, tagged by outcome, plus an in-flight gauge.
+ *
+ * <p>Exports {@code <name>_seconds{outcome=...}} with p50/p95/p99 and a percentile
+ * histogram; the per-outcome {@code _count} series doubles as the outcome counter.
+ */
+public class OutcomeTimer {
+
+    public static final String SUCCESS = "success";
+    public static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+    private final String name;
+    private final String description;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OutcomeTimer(MeterRegistry registry, String name, String description) {
+        this.registry = registry;
+        this.name = name;
+        this.description = description;
+        Gauge.builder(name + ".in.flight", inFlight, AtomicInteger::get)
+                .description(description + " currently in flight")
+                .register(registry);
+    }
+
+    public Timer.Sample start() {
+        inFlight.incrementAndGet();
+        return Timer.start(registry);
+    }
+
+    public void stop(Timer.Sample sample, String outcome) {
+        inFlight.decrementAndGet();
+        sample.stop(Timer.builder(name)
+                .description(description)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
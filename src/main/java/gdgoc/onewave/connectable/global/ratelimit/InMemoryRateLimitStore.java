@@ -0,0 +1,78 @@
+package gdgoc.onewave.connectable.global.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-node store. Buckets live in a bounded Caffeine cache and are updated under one of a
+ * fixed set of striped locks, so unrelated keys do not contend. A bucket idle for longer than
+ * it takes to refill is full anyway, so evicting it loses nothing.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Cache<String, Bucket> buckets;
+
+    public InMemoryRateLimitStore(long maximumBuckets, Duration expireAfterAccess) {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumBuckets)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            Bucket bucket = buckets.get(key, k -> new Bucket(limit.capacity(), now));
+            double elapsedSeconds = (now - bucket.updatedNanos) / 1_000_000_000.0;
+            bucket.tokens = Math.min(limit.capacity(), bucket.tokens + elapsedSeconds * limit.refillPerSecond());
+            bucket.updatedNanos = now;
+            if (bucket.tokens >= 1.0) {
+                bucket.tokens -= 1.0;
+                return 0;
+            }
+            return limit.secondsUntilToken(bucket.tokens);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void refund(String key, RateLimit limit) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            Bucket bucket = buckets.getIfPresent(key);
+            if (bucket != null) {
+                bucket.tokens = Math.min(limit.capacity(), bucket.tokens + 1.0);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(String key) {
+        return locks[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long updatedNanos;
+
+        private Bucket(double tokens, long updatedNanos) {
+            this.tokens = tokens;
+            this.updatedNanos = updatedNanos;
+        }
+    }
+}
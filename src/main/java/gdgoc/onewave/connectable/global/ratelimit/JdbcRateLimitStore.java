@@ -0,0 +1,76 @@
+package gdgoc.onewave.connectable.global.ratelimit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared store for multi-instance deployments, backed by the {@code rate_limit_bucket} table.
+ *
+ * <p>Refill and take happen in one upsert whose {@code WHERE} only updates a bucket holding a
+ * whole token, so the row lock is held for a single statement. Must be called outside the
+ * caller's transaction, or that lock would be held until it commits.
+ */
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final String REFILLED = """
+            LEAST(?, b.tokens + EXTRACT(EPOCH FROM clock_timestamp() - b.updated_at) * ?)""";
+
+    private static final String TAKE_TOKEN = """
+            INSERT INTO rate_limit_bucket AS b (bucket_key, tokens, updated_at)
+            VALUES (?, ?, clock_timestamp())
+            ON CONFLICT (bucket_key) DO UPDATE SET
+                tokens = %s - 1,
+                updated_at = clock_timestamp()
+            WHERE %s >= 1
+            RETURNING b.tokens
+            """.formatted(REFILLED, REFILLED);
+
+    private static final String CURRENT_TOKENS = """
+            SELECT %s FROM rate_limit_bucket b WHERE b.bucket_key = ?
+            """.formatted(REFILLED);
+
+    private static final String REFUND_TOKEN = """
+            UPDATE rate_limit_bucket b SET
+                tokens = LEAST(?, %s + 1),
+                updated_at = clock_timestamp()
+            WHERE b.bucket_key = ?
+            """.formatted(REFILLED);
+
+    private static final String PURGE_IDLE = """
+            DELETE FROM rate_limit_bucket WHERE updated_at < clock_timestamp() - INTERVAL '1 day'
+            """;
+
+    private static final int PURGE_EVERY = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AtomicLong calls = new AtomicLong();
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        if (calls.incrementAndGet() % PURGE_EVERY == 0) {
+            // Buckets untouched for a day are full again; dropping them is equivalent
+            jdbcTemplate.update(PURGE_IDLE);
+        }
+        int capacity = limit.capacity();
+        double refill = limit.refillPerSecond();
+        List<Double> taken = jdbcTemplate.queryForList(TAKE_TOKEN, Double.class,
+                key, capacity - 1.0, capacity, refill, capacity, refill);
+        if (!taken.isEmpty()) {
+            return 0;
+        }
+        List<Double> current = jdbcTemplate.queryForList(CURRENT_TOKENS, Double.class, capacity, refill, key);
+        return limit.secondsUntilToken(current.isEmpty() ? 0.0 : current.get(0));
+    }
+
+    @Override
+    public void refund(String key, RateLimit limit) {
+        int capacity = limit.capacity();
+        jdbcTemplate.update(REFUND_TOKEN, capacity, capacity, limit.refillPerSecond(), key);
+    }
+}
@@ -0,0 +1,25 @@
+package gdgoc.onewave.connectable.global.ratelimit;
+
+/**
+ * Token bucket shape: up to {@code capacity} calls in a burst, refilled continuously at
+ * {@code refillPerSecond}.
+ */
+public record RateLimit(int capacity, double refillPerSecond) {
+
+    public RateLimit {
+        if (capacity < 1 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("capacity must be >= 1 and refill rate positive");
+        }
+    }
+
+    public static RateLimit perMinute(int capacity, double refillPerMinute) {
+        return new RateLimit(capacity, refillPerMinute / 60.0);
+    }
+
+    /**
+     * Seconds until a bucket holding {@code tokens} has a whole token again, at least one.
+     */
+    long secondsUntilToken(double tokens) {
+        return Math.max(1, (long) Math.ceil((1.0 - tokens) / refillPerSecond));
+    }
+}
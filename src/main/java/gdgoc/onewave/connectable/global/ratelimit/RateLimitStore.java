@@ -0,0 +1,21 @@
+package gdgoc.onewave.connectable.global.ratelimit;
+
+/**
+ * Holds token buckets by key. Implementations must take a token atomically, so concurrent
+ * callers (threads, or instances for a shared store) never overdraw a bucket.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket for {@code key}, creating it full if absent.
+     *
+     * @return 0 if a token was taken, otherwise the seconds until one will be available
+     */
+    long tryAcquire(String key, RateLimit limit);
+
+    /**
+     * Returns a token taken by {@link #tryAcquire} whose call was rejected by another limit,
+     * never filling the bucket beyond its capacity.
+     */
+    void refund(String key, RateLimit limit);
+}
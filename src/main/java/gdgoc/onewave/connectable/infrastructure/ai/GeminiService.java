@@ -2,8 +2,13 @@ package gdgoc.onewave.connectable.infrastructure.ai;
 
 import gdgoc.onewave.connectable.global.exception.BusinessException;
 import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -17,7 +22,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class GeminiService {
 
+    @Qualifier("geminiWebClient")
     private final WebClient webClient;
+    @Qualifier("geminiTimer")
+    private final OutcomeTimer geminiTimer;
+    private final ObservationRegistry observationRegistry;
 
     @Value("${gemini.api-key}")
     private String apiKey;
@@ -25,10 +34,17 @@ public class GeminiService {
     @Value("${gemini.model}")
     private String model;
 
-    private static final String GEMINI_API_BASE_URL = "https://generativelanguage.googleapis.com/v1/models/";
+    @Value("${gemini.base-url:https://generativelanguage.googleapis.com/v1/models/}")
+    private String baseUrl;
 
     public String generatePlaywrightScript(List<String> subTasks, String assignmentContent) {
-        try {
+        Timer.Sample sample = geminiTimer.start();
+        String outcome = OutcomeTimer.ERROR;
+        Observation observation = Observation.createNotStarted("gemini.generate", observationRegistry)
+                .lowCardinalityKeyValue("model", model)
+                .highCardinalityKeyValue("sub_tasks", String.valueOf(subTasks.size()))
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
             String prompt = buildPrompt(subTasks, assignmentContent);
 
             // Gemini API 요청 구성
@@ -40,12 +56,11 @@ public class GeminiService {
                     )
             );
 
-            // API 호출
-            String endpoint = GEMINI_API_BASE_URL + model + ":generateContent?key=" + apiKey;
-
+            // API 호출 (API 키는 URI가 아닌 헤더로 전달해 트레이스/메트릭 태그에 남지 않도록 함)
             Map<String, Object> response = webClient.post()
-                    .uri(endpoint)
+                    .uri(baseUrl + "{model}:generateContent", model)
                     .header("Content-Type", "application/json")
+                    .header("x-goog-api-key", apiKey)
                     .bodyValue(requestBody)
                     .retrieve()
                     .bodyToMono(Map.class)
@@ -60,17 +75,24 @@ public class GeminiService {
                 throw new BusinessException(ErrorCode.AI_GENERATION_FAILED);
             }
 
-            return extractScriptFromResponse(response);
+            String script = extractScriptFromResponse(response);
+            outcome = OutcomeTimer.SUCCESS;
+            return script;
 
         } catch (BusinessException e) {
+            observation.error(e);
             throw e;
         } catch (Exception e) {
+            observation.error(e);
             log.error("Unexpected error during AI script generation", e);
             throw new BusinessException(ErrorCode.AI_GENERATION_FAILED);
+        } finally {
+            geminiTimer.stop(sample, outcome);
+            observation.stop();
         }
     }
 
-    private String buildPrompt(List<String> subTasks, String assignmentContent) {
+    String buildPrompt(List<String> subTasks, String assignmentContent) {
         StringBuilder prompt = new StringBuilder();
 
         // Introduction and assignment description
@@ -123,7 +145,7 @@ public class GeminiService {
     }
 
     @SuppressWarnings("unchecked")
-    private String extractScriptFromResponse(Map<String, Object> response) {
+    String extractScriptFromResponse(Map<String, Object> response) {
         try {
             List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
             if (candidates == null || candidates.isEmpty()) {
@@ -156,7 +178,7 @@ public class GeminiService {
     /**
      * Remove markdown code block markers from the response
      */
-    private String stripMarkdownCodeBlocks(String text) {
+    String stripMarkdownCodeBlocks(String text) {
         // Remove ```typescript or ```ts or ``` at the start
         String cleaned = text.replaceFirst("^```(?:typescript|ts)?\\s*\\n?", "");
 
@@ -0,0 +1,82 @@
+package gdgoc.onewave.connectable.infrastructure.probe;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.NetUtil;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+
+/**
+ * Fails any connect to a non-public address before the socket is opened. Reactor Netty skips the
+ * resolver for IP-literal hosts ({@code http://169.254.169.254/}, {@code http://[::1]/}), so
+ * {@link PublicAddressResolverGroup} alone only covers host names; this handler checks the
+ * address actually being connected to, whichever way it was obtained, redirects included.
+ */
+@ChannelHandler.Sharable
+public class PublicAddressGuard extends ChannelOutboundHandlerAdapter {
+
+    private static final PublicAddressGuard INSTANCE = new PublicAddressGuard();
+
+    /**
+     * Restricts {@code client} to public addresses: host names through the resolver, every
+     * connect through this guard. Does nothing when private addresses are allowed.
+     */
+    public static HttpClient restrict(HttpClient client, boolean allowPrivateAddresses) {
+        if (allowPrivateAddresses) {
+            return client.resolver(new PublicAddressResolverGroup(true));
+        }
+        return client.resolver(new PublicAddressResolverGroup(false))
+                .doOnChannelInit((observer, channel, remoteAddress) -> channel.pipeline().addFirst(INSTANCE));
+    }
+
+    /**
+     * True when {@code host} is an IP literal (bracketed or not) outside the public ranges, so
+     * it can be refused without any network I/O. Host names return false; they are checked on
+     * resolution.
+     */
+    public static boolean isNonPublicIpLiteral(String host) {
+        if (host == null) {
+            return false;
+        }
+        String literal = host.startsWith("[") && host.endsWith("]") ? host.substring(1, host.length() - 1) : host;
+        byte[] bytes = NetUtil.createByteArrayFromIpAddressString(literal);
+        if (bytes == null) {
+            return false;
+        }
+        try {
+            return !PublicAddressResolverGroup.isPublic(InetAddress.getByAddress(bytes));
+        } catch (UnknownHostException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Same as {@link #isNonPublicIpLiteral(String)} for the host of {@code url}; false when
+     * the URL cannot be parsed, which the request itself then reports.
+     */
+    public static boolean hasNonPublicIpLiteralHost(String url) {
+        try {
+            return isNonPublicIpLiteral(URI.create(url).getHost());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress,
+                        ChannelPromise promise) {
+        if (remoteAddress instanceof InetSocketAddress address
+                && (address.isUnresolved() || !PublicAddressResolverGroup.isPublic(address.getAddress()))) {
+            promise.setFailure(new PublicAddressResolverGroup.BlockedAddressException(address.getHostString()));
+            return;
+        }
+        ctx.connect(remoteAddress, localAddress, promise);
+    }
+}
@@ -0,0 +1,149 @@
+package gdgoc.onewave.connectable.infrastructure.probe;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolves host names for the submission probe and refuses any host that resolves to a
+ * loopback, private, link-local (cloud metadata) or otherwise non-public address.
+ *
+ * <p>The check runs inside the connection's own resolution, so redirects are filtered too and
+ * a DNS answer cannot change between the check and the connect. IP-literal hosts never reach a
+ * resolver; {@link PublicAddressGuard} covers those at connect time.
+ */
+public class PublicAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+
+    private final boolean allowPrivateAddresses;
+
+    public PublicAddressResolverGroup(boolean allowPrivateAddresses) {
+        this.allowPrivateAddresses = allowPrivateAddresses;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new PublicAddressNameResolver(executor).asAddressResolver();
+    }
+
+    /**
+     * Thrown when a host resolves to an address the probe must not connect to.
+     */
+    public static class BlockedAddressException extends UnknownHostException {
+        public BlockedAddressException(String host) {
+            super("Host resolves to a non-public address: " + host);
+        }
+    }
+
+    static boolean isPublic(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return false;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            int first = bytes[0] & 0xff;
+            int second = bytes[1] & 0xff;
+            return first != 0                                    // 0.0.0.0/8
+                    && !(first == 100 && (second & 0xc0) == 64)  // 100.64.0.0/10 carrier-grade NAT
+                    && !(first == 192 && second == 0 && (bytes[2] & 0xff) == 0) // 192.0.0.0/24
+                    && !(first == 198 && (second & 0xfe) == 18)  // 198.18.0.0/15 benchmarking
+                    && first < 240;                              // 240.0.0.0/4 reserved, broadcast
+        }
+        if (address instanceof Inet6Address) {
+            if ((bytes[0] & 0xfe) == 0xfc                        // fc00::/7 unique local
+                    || startsWith(bytes, 0x00, 0x64, 0xff, 0x9b, 0x00, 0x01)) { // 64:ff9b:1::/48 local NAT64
+                return false;
+            }
+            // Forms that carry an IPv4 address can route to private IPv4 space through a gateway
+            byte[] embedded = embeddedIpv4(bytes);
+            return embedded == null || isPublic(toInet4Address(embedded));
+        }
+        return false;
+    }
+
+    /**
+     * The IPv4 address inside NAT64 (64:ff9b::/96), 6to4 (2002::/16), Teredo (2001::/32,
+     * client address inverted) and IPv4-compatible (::/96) IPv6 addresses, or null.
+     */
+    private static byte[] embeddedIpv4(byte[] bytes) {
+        if (startsWith(bytes, 0x00, 0x64, 0xff, 0x9b, 0, 0, 0, 0, 0, 0, 0, 0)
+                || startsWith(bytes, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0)) {
+            return Arrays.copyOfRange(bytes, 12, 16);
+        }
+        if (startsWith(bytes, 0x20, 0x02)) {
+            return Arrays.copyOfRange(bytes, 2, 6);
+        }
+        if (startsWith(bytes, 0x20, 0x01, 0x00, 0x00)) {
+            byte[] client = Arrays.copyOfRange(bytes, 12, 16);
+            for (int i = 0; i < client.length; i++) {
+                client[i] = (byte) ~client[i];
+            }
+            return client;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int... prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if ((bytes[i] & 0xff) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static InetAddress toInet4Address(byte[] bytes) {
+        try {
+            return InetAddress.getByAddress(bytes);
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException(e); // only thrown for a wrong length
+        }
+    }
+
+    private class PublicAddressNameResolver extends InetNameResolver {
+
+        PublicAddressNameResolver(EventExecutor executor) {
+            super(executor);
+        }
+
+        @Override
+        protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+            try {
+                promise.setSuccess(resolve(inetHost).get(0));
+            } catch (UnknownHostException e) {
+                promise.setFailure(e);
+            }
+        }
+
+        @Override
+        protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+            try {
+                promise.setSuccess(resolve(inetHost));
+            } catch (UnknownHostException e) {
+                promise.setFailure(e);
+            }
+        }
+
+        /**
+         * Blocking lookup, like Netty's default resolver. Every address must be public so
+         * the connection cannot fall back onto a private one.
+         */
+        private List<InetAddress> resolve(String inetHost) throws UnknownHostException {
+            List<InetAddress> addresses = List.of(InetAddress.getAllByName(inetHost));
+            if (!allowPrivateAddresses && !addresses.stream().allMatch(PublicAddressResolverGroup::isPublic)) {
+                throw new BlockedAddressException(inetHost);
+            }
+            return addresses;
+        }
+    }
+}
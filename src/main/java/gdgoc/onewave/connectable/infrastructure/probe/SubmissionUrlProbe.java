@@ -0,0 +1,129 @@
+package gdgoc.onewave.connectable.infrastructure.probe;
+
+import gdgoc.onewave.connectable.global.exception.BusinessException;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Pre-flight check of a submission URL before a grading worker instance is spent on it.
+ * Typos, private addresses and error pages fail here in milliseconds instead of after the
+ * worker's full timeout.
+ *
+ * <p>Sends HEAD and falls back to a one-byte GET for servers that reject HEAD. Redirects are
+ * followed up to {@code submission.probe.max-redirects} by {@code probeWebClient}, which refuses
+ * non-public addresses on resolution and on connect. A private IP literal in the URL itself is
+ * refused here before any connection is attempted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SubmissionUrlProbe {
+
+    @Qualifier("probeWebClient")
+    private final WebClient webClient;
+    @Qualifier("submissionProbeTimer")
+    private final OutcomeTimer submissionProbeTimer;
+
+    private static final String OUTCOME_BLOCKED = "blocked";
+    private static final String OUTCOME_UNREACHABLE = "unreachable";
+    private static final String OUTCOME_ERROR_STATUS = "error_status";
+
+    @Value("${submission.probe.enabled:true}")
+    private boolean enabled;
+
+    @Value("${submission.probe.timeout:3s}")
+    private Duration timeout;
+
+    @Value("${submission.probe.allow-private-addresses:false}")
+    private boolean allowPrivateAddresses;
+
+    /**
+     * @param status final HTTP status, or 0 when the probe is disabled
+     * @param etag   validator of the hosted page, usable as a grading cache key; may be null
+     */
+    public record ProbeResult(int status, String etag) {
+        public static final ProbeResult NOT_PROBED = new ProbeResult(0, null);
+    }
+
+    /**
+     * @throws BusinessException SUBMISSION_URL_BLOCKED, SUBMISSION_URL_UNREACHABLE or
+     *                           SUBMISSION_URL_ERROR_STATUS
+     */
+    public ProbeResult probe(String url) {
+        if (!enabled) {
+            return ProbeResult.NOT_PROBED;
+        }
+        Timer.Sample sample = submissionProbeTimer.start();
+        String outcome = OutcomeTimer.ERROR;
+        try {
+            if (!allowPrivateAddresses && PublicAddressGuard.hasNonPublicIpLiteralHost(url)) {
+                throw new PublicAddressResolverGroup.BlockedAddressException(url);
+            }
+            ProbeResult result = request(HttpMethod.HEAD, url);
+            if (result.status() == HttpStatus.METHOD_NOT_ALLOWED.value()
+                    || result.status() == HttpStatus.NOT_IMPLEMENTED.value()
+                    || result.status() == HttpStatus.FORBIDDEN.value()) {
+                // Some static hosts and CDNs only answer GET properly
+                result = request(HttpMethod.GET, url);
+            }
+            if (result.status() >= 300) {
+                outcome = OUTCOME_ERROR_STATUS;
+                log.info("Submission URL probe of {} returned {}", url, result.status());
+                throw new BusinessException(ErrorCode.SUBMISSION_URL_ERROR_STATUS);
+            }
+            outcome = OutcomeTimer.SUCCESS;
+            return result;
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            if (isBlocked(e)) {
+                outcome = OUTCOME_BLOCKED;
+                log.warn("Submission URL probe refused non-public target {}", url);
+                throw new BusinessException(ErrorCode.SUBMISSION_URL_BLOCKED);
+            }
+            outcome = OUTCOME_UNREACHABLE;
+            log.info("Submission URL probe of {} failed: {}", url, Exceptions.unwrap(e).toString());
+            throw new BusinessException(ErrorCode.SUBMISSION_URL_UNREACHABLE);
+        } finally {
+            submissionProbeTimer.stop(sample, outcome);
+        }
+    }
+
+    private ProbeResult request(HttpMethod method, String url) {
+        WebClient.RequestBodySpec spec = webClient.method(method).uri(url);
+        if (method == HttpMethod.GET) {
+            spec.header(HttpHeaders.RANGE, "bytes=0-0");
+        }
+        return spec.exchangeToMono(response -> response.releaseBody().thenReturn(new ProbeResult(
+                        response.statusCode().value(),
+                        response.headers().asHttpHeaders().getETag())))
+                .timeout(timeout)
+                .onErrorResume(e -> Mono.error(Exceptions.unwrap(e)))
+                .block();
+    }
+
+    private boolean isBlocked(Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        while (cause != null) {
+            if (cause instanceof PublicAddressResolverGroup.BlockedAddressException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+}
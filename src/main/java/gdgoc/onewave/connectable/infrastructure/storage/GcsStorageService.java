@@ -5,9 +5,14 @@ import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
 import gdgoc.onewave.connectable.global.exception.BusinessException;
 import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -27,10 +32,15 @@ import java.util.zip.ZipFile;
 @Deprecated
 @Slf4j
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class GcsStorageService {
 
     private final Storage storage;
+    @Qualifier("gcsUploadTimer")
+    private final OutcomeTimer gcsUploadTimer;
+    @Qualifier("gcsUploadBytes")
+    private final DistributionSummary gcsUploadBytes;
 
     @Value("${gcs.bucket-name}")
     private String bucketName;
@@ -39,6 +49,8 @@ public class GcsStorageService {
     private String baseUrl;
 
     public String uploadAndExtractZip(MultipartFile file, UUID submissionId) {
+        Timer.Sample sample = gcsUploadTimer.start();
+        String outcome = OutcomeTimer.ERROR;
         Path tempDir = null;
         Path tempZipFile = null;
         try {
@@ -52,6 +64,7 @@ public class GcsStorageService {
             }
             rewritePathsInHtml(uploadRoot.resolve("index.html"), uploadRoot);
             uploadDirectory(uploadRoot, "submissions/" + submissionId);
+            outcome = OutcomeTimer.SUCCESS;
             return baseUrl + "/" + bucketName + "/submissions/" + submissionId + "/index.html";
         } catch (IOException e) {
             log.error("Failed to upload zip file for submission {}", submissionId, e);
@@ -63,6 +76,7 @@ public class GcsStorageService {
             if (tempDir != null) {
                 deleteDirectory(tempDir);
             }
+            gcsUploadTimer.stop(sample, outcome);
         }
     }
 
@@ -102,7 +116,7 @@ public class GcsStorageService {
      * Find the directory containing index.html and use it as the upload root.
      * Handles any level of nesting (e.g. zip/folder/subfolder/index.html).
      */
-    private Path findUploadRoot(Path extractedDir) throws IOException {
+    Path findUploadRoot(Path extractedDir) throws IOException {
         List<Path> found = new ArrayList<>();
         Files.walkFileTree(extractedDir, new SimpleFileVisitor<>() {
             @Override
@@ -129,7 +143,7 @@ public class GcsStorageService {
         return extractedDir;
     }
 
-    private void generateIndexHtml(Path dir) throws IOException {
+    void generateIndexHtml(Path dir) throws IOException {
         List<String> files = new ArrayList<>();
         Files.walkFileTree(dir, new SimpleFileVisitor<>() {
             @Override
@@ -154,7 +168,7 @@ public class GcsStorageService {
         log.debug("Generated index.html with {} file entries", files.size());
     }
 
-    private void rewritePathsInHtml(Path indexHtml, Path uploadRoot) throws IOException {
+    void rewritePathsInHtml(Path indexHtml, Path uploadRoot) throws IOException {
         if (!Files.exists(indexHtml)) {
             return;
         }
@@ -218,7 +232,9 @@ public class GcsStorageService {
                 .setContentType(contentType)
                 .build();
 
-        storage.create(blobInfo, Files.readAllBytes(filePath));
+        byte[] content = Files.readAllBytes(filePath);
+        storage.create(blobInfo, content);
+        gcsUploadBytes.record(content.length);
         log.debug("Uploaded {} to gs://{}/{}", filePath.getFileName(), bucketName, objectName);
     }
 
@@ -1,38 +1,121 @@
 package gdgoc.onewave.connectable.infrastructure.worker;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gdgoc.onewave.connectable.global.concurrency.AdaptiveConcurrencyLimiter;
 import gdgoc.onewave.connectable.global.exception.BusinessException;
 import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.exception.RetryAfterException;
+import gdgoc.onewave.connectable.global.logging.DebugLoggingFilter;
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GradingWorkerClient {
 
+    @Qualifier("workerWebClient")
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    @Qualifier("gradingWorkerTimer")
+    private final OutcomeTimer gradingWorkerTimer;
+    private final ObservationRegistry observationRegistry;
+    private final AdaptiveConcurrencyLimiter gradingWorkerLimiter;
+    private final WorkerPool gradingWorkerPool;
 
-    @Value("${worker.url}")
-    private String workerUrl;
+    private static final String OUTCOME_TIMEOUT = "timeout";
+    private static final String OUTCOME_NETWORK_ERROR = "network_error";
+    private static final String OUTCOME_CLIENT_ERROR = "client_error";
+    private static final String OUTCOME_PARSE_ERROR = "parse_error";
+    private static final String OUTCOME_EMPTY_RESULTS = "empty_results";
+    private static final String OUTCOME_PARTIAL = "partial";
+    private static final Set<String> TRANSIENT_OUTCOMES = Set.of(OUTCOME_TIMEOUT, OUTCOME_NETWORK_ERROR);
+
+    public static final String PROTOCOL_NDJSON = "ndjson";
+    public static final String SCRIPT_MODE_HASH = "hash";
+
+    private static final int ERROR_EXCERPT_BYTES = 2048;
 
     @Value("${worker.timeout-seconds:60}")
     private int timeoutSeconds;
 
+    /**
+     * json: one GradingResponse after all tests finish. ndjson: one GradingResultItem per line
+     * as each test finishes, so a timeout keeps the results already received.
+     */
+    @Value("${worker.protocol:json}")
+    private String protocol;
+
+    /**
+     * inline: every grading request carries the script. hash: scripts are registered once per
+     * assignment and grading requests carry only {@code scriptHash}; a worker that does not
+     * know the hash answers 409/412 and the request is resent inline, hash included, so the
+     * worker can cache the script for the next call.
+     */
+    @Value("${worker.script-mode:inline}")
+    private String scriptMode;
+
+    @Value("${worker.logging.body-sample-rate:0.0}")
+    private double bodySampleRate;
+
+    @Value("${worker.logging.body-max-bytes:65536}")
+    private int bodyMaxBytes;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public record GradingRequest(
             UUID submissionId,
             String targetUrl,
             String playwrightScript,
+            List<String> subTasks,
+            String scriptHash
+    ) {
+        public GradingRequest(UUID submissionId, String targetUrl, String playwrightScript, List<String> subTasks) {
+            this(submissionId, targetUrl, playwrightScript, subTasks, null);
+        }
+    }
+
+    public record ScriptRegistration(
+            String scriptHash,
+            String playwrightScript,
             List<String> subTasks
     ) {}
 
@@ -48,81 +131,482 @@ public class GradingWorkerClient {
             Boolean isPassed
     ) {}
 
+    /**
+     * Grades a submission, or throws {@link RetryAfterException} (503 + Retry-After) when the
+     * worker is at its adaptive concurrency limit and the wait queue is full or timed out.
+     */
     public GradingResponse grade(GradingRequest request) {
-        try {
-            String endpoint = workerUrl + "/grade";
-            log.info("==== Grading Worker Request ====");
-            log.info("Endpoint: {}", endpoint);
-            log.info("Submission ID: {}", request.submissionId());
-            log.info("Target URL: {}", request.targetUrl());
-            log.info("Playwright Script length: {} characters",
-                    request.playwrightScript() != null ? request.playwrightScript().length() : 0);
-            log.info("Timeout: {} seconds", timeoutSeconds);
-
-            // Get the raw response body as String to log it
-            String rawResponseBody;
-            try {
-                rawResponseBody = webClient.post()
-                        .uri(endpoint)
-                        .header("Content-Type", "application/json")
-                        .bodyValue(request)
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .timeout(Duration.ofSeconds(timeoutSeconds))
-                        .block();
-            } catch (Exception e) {
-                log.error("Network error during grading: {}", e.getMessage(), e);
-                return createFailureResponse(request, "Network error: " + e.getMessage());
-            }
+        return grade(request, AdaptiveConcurrencyLimiter.Lane.DEFAULT, item -> {});
+    }
+
+    /**
+     * Same as {@link #grade(GradingRequest)}, waiting in {@code lane} of the limiter's fair queue
+     * when the worker is at its limit, and calling {@code onResult} on the caller's thread for
+     * each result the worker reports: as it arrives under the ndjson protocol, or once the whole
+     * response is read under json. Fallback results made up for a failed call are not reported;
+     * the returned response always lists the reported results first, in order.
+     */
+    public GradingResponse grade(GradingRequest request, AdaptiveConcurrencyLimiter.Lane lane,
+                                 Consumer<GradingResultItem> onResult) {
+        return call(withScriptHash(request), lane, onResult).response();
+    }
 
-            log.info("==== Raw Response Body ====");
-            log.info("Response length: {} characters", rawResponseBody != null ? rawResponseBody.length() : 0);
-            log.info("Response body:\n{}", rawResponseBody);
-            log.info("===========================");
+    /**
+     * Same as {@link #grade(GradingRequest, AdaptiveConcurrencyLimiter.Lane, Consumer)}, for
+     * callers that can retry later (the grading job queue): when the worker timed out, could not
+     * be reached or failed with 5xx (not 4xx, which a retry would only repeat), throws {@link BusinessException} GRADING_WORKER_UNAVAILABLE
+     * instead of returning a failure response that would be stored as the grade.
+     */
+    public GradingResponse gradeOrThrowIfUnavailable(GradingRequest request, AdaptiveConcurrencyLimiter.Lane lane) {
+        Graded graded = call(withScriptHash(request), lane, item -> {});
+        if (TRANSIENT_OUTCOMES.contains(graded.outcome())) {
+            throw new BusinessException(ErrorCode.GRADING_WORKER_UNAVAILABLE);
+        }
+        return graded.response();
+    }
 
-            if (rawResponseBody == null || rawResponseBody.trim().isEmpty()) {
-                log.error("Empty response from grading worker");
-                return createFailureResponse(request, "Empty response from grading worker");
+    private GradingRequest withScriptHash(GradingRequest request) {
+        boolean needsHash = SCRIPT_MODE_HASH.equalsIgnoreCase(scriptMode) || gradingWorkerPool.isAffinityEnabled();
+        if (!needsHash || request.scriptHash() != null) {
+            return request;
+        }
+        return new GradingRequest(request.submissionId(), request.targetUrl(), request.playwrightScript(),
+                request.subTasks(), scriptHash(request.playwrightScript(), request.subTasks()));
+    }
+
+    private record Graded(String outcome, GradingResponse response) {}
+
+    private Graded call(GradingRequest request, AdaptiveConcurrencyLimiter.Lane lane,
+                                 Consumer<GradingResultItem> onResult) {
+        AdaptiveConcurrencyLimiter.Permit permit = gradingWorkerLimiter.acquire(lane)
+                .orElseThrow(() -> new RetryAfterException(
+                        ErrorCode.GRADING_WORKER_BUSY, gradingWorkerLimiter.retryAfterSeconds()));
+        WorkerPool.Member worker = gradingWorkerPool.choose(request.scriptHash());
+        Timer.Sample sample = gradingWorkerTimer.start();
+        long startNanos = System.nanoTime();
+        String outcome = OutcomeTimer.ERROR;
+        GradingResponse result = null;
+        int responseBytes = 0;
+        String bodyExcerpt = null;
+        Observation observation = Observation.createNotStarted("grading.worker.grade", observationRegistry)
+                .highCardinalityKeyValue("submission.id", String.valueOf(request.submissionId()))
+                .start();
+        boolean logBodies = shouldLogBodies();
+        try (Observation.Scope scope = observation.openScope()) {
+            String endpoint = worker.url() + "/grade";
+            if (logBodies) {
+                log.atInfo()
+                        .setMessage("Grading worker request body")
+                        .addKeyValue("submissionId", request.submissionId())
+                        .addKeyValue("body", () -> toJson(request))
+                        .log();
             }
 
-            // Parse the JSON response
-            GradingResponse response;
+            GradingRequest wireRequest = toWireRequest(request);
+            if (PROTOCOL_NDJSON.equalsIgnoreCase(protocol)) {
+                StreamedResults streamed = streamResults(endpoint, request, wireRequest, onResult);
+                outcome = streamed.outcome();
+                result = streamed.response();
+                return new Graded(outcome, result);
+            }
+
+            // Keep the (pooled, maxInMemorySize-bounded) body as a DataBuffer and let Jackson read
+            // the bytes directly; a String copy is only made for sampled or failed responses.
+            DataBuffer responseBuffer;
             try {
-                response = objectMapper.readValue(rawResponseBody, GradingResponse.class);
+                try {
+                    responseBuffer = postForBuffer(endpoint, wireRequest);
+                } catch (RuntimeException e) {
+                    if (wireRequest == request || !isScriptCacheMiss(e)) {
+                        throw e;
+                    }
+                    logScriptCacheMiss(request);
+                    responseBuffer = postForBuffer(endpoint, toInlineRequest(request));
+                }
             } catch (Exception e) {
-                log.error("Failed to parse grading response: {}", e.getMessage(), e);
-                return createFailureResponse(request, "Invalid JSON response");
+                if (isClientError(e)) {
+                    outcome = OUTCOME_CLIENT_ERROR;
+                    result = createFailureResponse(request, "Worker rejected request: " + e.getMessage());
+                    return new Graded(outcome, result);
+                }
+                outcome = isTimeout(e) ? OUTCOME_TIMEOUT : OUTCOME_NETWORK_ERROR;
+                result = createFailureResponse(request, "Network error: " + e.getMessage());
+                return new Graded(outcome, result);
             }
 
-            log.info("==== Grading Worker Response ====");
-            log.info("Submission ID: {}", response.submissionId());
-            log.info("Success: {}", response.success());
-            log.info("Error Message: {}", response.errorMessage());
-            log.info("Results count: {}", response.results() != null ? response.results().size() : 0);
+            if (responseBuffer == null || responseBuffer.readableByteCount() == 0) {
+                DataBufferUtils.release(responseBuffer);
+                outcome = OUTCOME_EMPTY_RESULTS;
+                result = createFailureResponse(request, "Empty response from grading worker");
+                return new Graded(outcome, result);
+            }
 
-            if (response.results() != null) {
-                for (int i = 0; i < response.results().size(); i++) {
-                    GradingResultItem item = response.results().get(i);
-                    log.info("Result[{}]: taskName='{}', isPassed={}", i, item.taskName(), item.isPassed());
+            GradingResponse response;
+            try {
+                responseBytes = responseBuffer.readableByteCount();
+                if (logBodies) {
+                    log.atInfo()
+                            .setMessage("Grading worker response body")
+                            .addKeyValue("submissionId", request.submissionId())
+                            .addKeyValue("body", excerpt(responseBuffer, bodyMaxBytes))
+                            .log();
+                }
+                int readPosition = responseBuffer.readPosition();
+                try {
+                    response = readResponse(responseBuffer);
+                } catch (Exception e) {
+                    outcome = OUTCOME_PARSE_ERROR;
+                    responseBuffer.readPosition(readPosition);
+                    bodyExcerpt = excerpt(responseBuffer, ERROR_EXCERPT_BYTES);
+                    result = createFailureResponse(request, "Invalid JSON response");
+                    return new Graded(outcome, result);
                 }
+            } finally {
+                DataBufferUtils.release(responseBuffer);
+            }
+
+            if (response == null) {
+                outcome = OUTCOME_EMPTY_RESULTS;
+                result = createFailureResponse(request, "Empty response from grading worker");
+                return new Graded(outcome, result);
             }
-            log.info("================================");
 
             // Check if results are null or empty - create failure response with task names
             if (response.results() == null || response.results().isEmpty()) {
-                log.warn("Grading response has empty results, creating failure response");
+                outcome = OUTCOME_EMPTY_RESULTS;
                 String errorMsg = response.errorMessage() != null ? response.errorMessage() : "No grading results returned";
-                return createFailureResponse(request, errorMsg);
+                result = createFailureResponse(request, errorMsg);
+                return new Graded(outcome, result);
             }
 
-            return response;
+            response.results().forEach(item -> report(onResult, item));
+            outcome = OutcomeTimer.SUCCESS;
+            result = response;
+            return new Graded(outcome, result);
 
         } catch (BusinessException e) {
             throw e;
+        } catch (ResultListenerException e) {
+            // The caller's own failure (e.g. persisting a result), not a worker error
+            throw e.getCause();
+        } catch (Exception e) {
+            log.error("Unexpected error during grading of submission {}", request.submissionId(), e);
+            result = createFailureResponse(request, e.getMessage());
+            return new Graded(outcome, result);
+        } finally {
+            // Timeouts and transport/5xx errors are the worker's overload signal; a 4xx
+            // (client_error) is a problem with the request and says nothing about load
+            boolean overloaded = OUTCOME_TIMEOUT.equals(outcome) || OUTCOME_NETWORK_ERROR.equals(outcome);
+            permit.release(overloaded);
+            worker.release(System.nanoTime() - startNanos, overloaded);
+            gradingWorkerTimer.stop(sample, outcome);
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
+            logSummary(request, worker, outcome, startNanos, responseBytes, bodyExcerpt, result);
+        }
+    }
+
+    /**
+     * Registers an assignment's script with every worker under its content hash, without
+     * blocking the caller. A failed registration only costs one inline fallback later.
+     */
+    public void registerScript(String playwrightScript, List<String> subTasks) {
+        if (!SCRIPT_MODE_HASH.equalsIgnoreCase(scriptMode)) {
+            return;
+        }
+        String hash = scriptHash(playwrightScript, subTasks);
+        ScriptRegistration registration = new ScriptRegistration(hash, playwrightScript, subTasks);
+        for (WorkerPool.Member worker : gradingWorkerPool.members()) {
+            webClient.post()
+                    .uri(worker.url() + "/scripts")
+                    .header("Content-Type", "application/json")
+                    .bodyValue(registration)
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(Duration.ofSeconds(timeoutSeconds))
+                    .subscribe(
+                            response -> log.info("Registered grading script {} with worker {}", hash, worker.url()),
+                            e -> log.warn("Failed to register grading script {} with worker {}: {}",
+                                    hash, worker.url(), e.toString()));
+        }
+    }
+
+    /**
+     * SHA-256 over the script and sub-tasks, length-prefixed so different splits cannot collide.
+     */
+    public static String scriptHash(String playwrightScript, List<String> subTasks) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, playwrightScript);
+            for (String subTask : subTasks != null ? subTasks : List.<String>of()) {
+                update(digest, subTask);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    /**
+     * The body actually sent first: the request itself, or in hash mode only its script hash.
+     */
+    private GradingRequest toWireRequest(GradingRequest request) {
+        if (!SCRIPT_MODE_HASH.equalsIgnoreCase(scriptMode)) {
+            return request;
+        }
+        return new GradingRequest(request.submissionId(), request.targetUrl(), null, null, request.scriptHash());
+    }
+
+    /**
+     * The resend after a script cache miss: the full script together with its hash, which the
+     * worker needs to cache it.
+     */
+    private static GradingRequest toInlineRequest(GradingRequest request) {
+        if (request.scriptHash() != null) {
+            return request;
+        }
+        return new GradingRequest(request.submissionId(), request.targetUrl(), request.playwrightScript(),
+                request.subTasks(), scriptHash(request.playwrightScript(), request.subTasks()));
+    }
+
+    private DataBuffer postForBuffer(String endpoint, GradingRequest body) {
+        return webClient.post()
+                .uri(endpoint)
+                .header("Content-Type", "application/json")
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(DataBuffer.class)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .block();
+    }
+
+    private boolean isScriptCacheMiss(Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        while (cause != null) {
+            if (cause instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == HttpStatus.CONFLICT.value() || status == HttpStatus.PRECONDITION_FAILED.value();
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private void logScriptCacheMiss(GradingRequest request) {
+        log.atInfo()
+                .setMessage("Worker does not know the grading script, resending inline")
+                .addKeyValue("submissionId", request.submissionId())
+                .log();
+    }
+
+    private record StreamedResults(String outcome, GradingResponse response) {}
+
+    private static final class ResultListenerException extends RuntimeException {
+        private ResultListenerException(RuntimeException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized RuntimeException getCause() {
+            return (RuntimeException) super.getCause();
+        }
+    }
+
+    private static void report(Consumer<GradingResultItem> onResult, GradingResultItem item) {
+        try {
+            onResult.accept(item);
+        } catch (RuntimeException e) {
+            throw new ResultListenerException(e);
+        }
+    }
+
+    /**
+     * Reads results line by line until the worker closes the stream or the overall
+     * {@code timeoutSeconds} deadline passes. Results that never arrived are reported as failed.
+     */
+    private StreamedResults streamResults(String endpoint, GradingRequest request, GradingRequest wireRequest,
+                                          Consumer<GradingResultItem> onResult) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(timeoutSeconds).toNanos();
+        List<GradingResultItem> received = new ArrayList<>();
+        Throwable failure = readStream(endpoint, wireRequest, deadline, received, onResult);
+        if (failure != null && received.isEmpty() && wireRequest != request && isScriptCacheMiss(failure)) {
+            logScriptCacheMiss(request);
+            failure = readStream(endpoint, toInlineRequest(request), deadline, received, onResult);
+        }
+
+        int expected = request.subTasks() != null ? request.subTasks().size() : 0;
+        if (failure == null && received.isEmpty()) {
+            return new StreamedResults(OUTCOME_EMPTY_RESULTS,
+                    createFailureResponse(request, "No grading results returned"));
+        }
+        if (failure == null && received.size() >= expected) {
+            return new StreamedResults(OutcomeTimer.SUCCESS,
+                    new GradingResponse(request.submissionId(), true, received, null));
+        }
+
+        String outcome;
+        String errorMessage;
+        if (failure == null) {
+            outcome = OUTCOME_PARTIAL;
+            errorMessage = "Worker stream ended after " + received.size() + " of " + expected + " results";
+        } else if (isTimeout(failure)) {
+            outcome = OUTCOME_TIMEOUT;
+            errorMessage = "Timed out after " + received.size() + " of " + expected + " results";
+        } else if (isDecodingError(failure)) {
+            outcome = OUTCOME_PARSE_ERROR;
+            errorMessage = "Invalid NDJSON response";
+        } else if (isClientError(failure)) {
+            outcome = OUTCOME_CLIENT_ERROR;
+            errorMessage = "Worker rejected request: " + Exceptions.unwrap(failure).getMessage();
+        } else {
+            outcome = OUTCOME_NETWORK_ERROR;
+            errorMessage = "Network error: " + Exceptions.unwrap(failure).getMessage();
+        }
+        return new StreamedResults(outcome, createPartialResponse(request, received, errorMessage));
+    }
+
+    /**
+     * Adds each streamed item to {@code received} and reports it.
+     *
+     * @return the error that ended the stream, or null if the worker closed it normally
+     */
+    private Throwable readStream(String endpoint, GradingRequest body, long deadline,
+                                 List<GradingResultItem> received, Consumer<GradingResultItem> onResult) {
+        Duration remaining = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+        Flux<GradingResultItem> items = webClient.post()
+                .uri(endpoint)
+                .header("Content-Type", "application/json")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToFlux(GradingResultItem.class)
+                // One deadline for the whole stream, not a gap between items
+                .timeout(Mono.delay(remaining),
+                        item -> Mono.delay(Duration.ofNanos(Math.max(0, deadline - System.nanoTime()))));
+
+        try (Stream<GradingResultItem> stream = items.toStream(1)) {
+            Iterator<GradingResultItem> iterator = stream.iterator();
+            while (true) {
+                GradingResultItem item;
+                try {
+                    if (!iterator.hasNext()) {
+                        return null;
+                    }
+                    item = iterator.next();
+                } catch (Exception e) {
+                    return e;
+                }
+                received.add(item);
+                report(onResult, item);
+            }
+        }
+    }
+
+    /**
+     * Emits the single structured event for a grading call. Key-values become JSON fields
+     * under structured logging, so no message string is built per result item.
+     */
+    void logSummary(GradingRequest request, WorkerPool.Member worker, String outcome, long startNanos,
+                    int responseBytes, String bodyExcerpt, GradingResponse result) {
+        boolean success = OutcomeTimer.SUCCESS.equals(outcome);
+        if (success ? !log.isInfoEnabled() : !log.isWarnEnabled()) {
+            return;
+        }
+        int resultCount = 0;
+        int passedCount = 0;
+        if (result != null && result.results() != null) {
+            resultCount = result.results().size();
+            for (GradingResultItem item : result.results()) {
+                if (Boolean.TRUE.equals(item.isPassed())) {
+                    passedCount++;
+                }
+            }
+        }
+        (success ? log.atInfo() : log.atWarn())
+                .setMessage("Grading worker call completed")
+                .addKeyValue("submissionId", request.submissionId())
+                .addKeyValue("worker", worker.url())
+                .addKeyValue("outcome", outcome)
+                .addKeyValue("latencyMs", (System.nanoTime() - startNanos) / 1_000_000)
+                .addKeyValue("scriptChars", request.playwrightScript() != null ? request.playwrightScript().length() : 0)
+                .addKeyValue("responseBytes", responseBytes)
+                .addKeyValue("resultCount", resultCount)
+                .addKeyValue("passedCount", passedCount)
+                .addKeyValue("errorMessage", success || result == null ? null : result.errorMessage())
+                .addKeyValue("bodyExcerpt", bodyExcerpt)
+                .log();
+    }
+
+    private boolean shouldLogBodies() {
+        return DebugLoggingFilter.isDebugRequested()
+                || (bodySampleRate > 0 && ThreadLocalRandom.current().nextDouble() < bodySampleRate);
+    }
+
+    /**
+     * Parses the worker response straight from the buffer's bytes. Does not release the buffer.
+     */
+    GradingResponse readResponse(DataBuffer buffer) throws IOException {
+        try (InputStream body = buffer.asInputStream()) {
+            return objectMapper.readValue(body, GradingResponse.class);
+        }
+    }
+
+    /**
+     * Decodes at most {@code maxBytes} of the buffer without moving its read position.
+     */
+    private static String excerpt(DataBuffer buffer, int maxBytes) {
+        int length = Math.min(buffer.readableByteCount(), maxBytes);
+        String text = buffer.toString(buffer.readPosition(), length, StandardCharsets.UTF_8);
+        return length < buffer.readableByteCount() ? text + "...(truncated)" : text;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
         } catch (Exception e) {
-            log.error("Unexpected error during grading", e);
-            return createFailureResponse(request, e.getMessage());
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * A 4xx from the worker (other than a script cache miss, which is resent first).
+     */
+    private boolean isClientError(Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        while (cause != null) {
+            if (cause instanceof WebClientResponseException response) {
+                return response.getStatusCode().is4xxClientError();
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private boolean isDecodingError(Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        while (cause != null) {
+            if (cause instanceof DecodingException) {
+                return true;
+            }
+            cause = cause.getCause();
         }
+        return false;
+    }
+
+    private boolean isTimeout(Throwable e) {
+        Throwable cause = Exceptions.unwrap(e);
+        while (cause != null) {
+            if (cause instanceof TimeoutException || cause instanceof ReadTimeoutException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
     }
 
     /**
@@ -134,14 +618,11 @@ public class GradingWorkerClient {
      * @return A GradingResponse with all tasks marked as failed
      */
     private GradingResponse createFailureResponse(GradingRequest request, String errorMessage) {
-        log.info("Creating failure response for submission {}", request.submissionId());
-
         // Use subTasks from the assignment
         List<String> taskNames = request.subTasks();
 
         // If subTasks is null or empty, use a default task
         if (taskNames == null || taskNames.isEmpty()) {
-            log.warn("No subTasks provided, using default task");
             taskNames = List.of("Grading Evaluation");
         }
 
@@ -150,8 +631,6 @@ public class GradingWorkerClient {
                 .map(taskName -> new GradingResultItem(taskName, false))
                 .collect(Collectors.toList());
 
-        log.info("Created {} failed result(s)", failedResults.size());
-
         return new GradingResponse(
                 request.submissionId(),
                 false,  // success = false
@@ -159,4 +638,27 @@ public class GradingWorkerClient {
                 errorMessage != null ? errorMessage : "Grading failed due to unexpected error"
         );
     }
+
+    /**
+     * Keeps the results received before the stream broke off and marks the remaining
+     * sub-tasks as failed, instead of discarding tasks that already passed.
+     */
+    private GradingResponse createPartialResponse(GradingRequest request, List<GradingResultItem> received,
+                                                  String errorMessage) {
+        List<GradingResultItem> results = new ArrayList<>(received);
+        Set<String> reported = new HashSet<>();
+        for (GradingResultItem item : received) {
+            reported.add(item.taskName());
+        }
+        List<String> taskNames = request.subTasks() != null ? request.subTasks() : List.of();
+        for (String taskName : taskNames) {
+            if (!reported.contains(taskName)) {
+                results.add(new GradingResultItem(taskName, false));
+            }
+        }
+        if (results.isEmpty()) {
+            return createFailureResponse(request, errorMessage);
+        }
+        return new GradingResponse(request.submissionId(), false, results, errorMessage);
+    }
 }
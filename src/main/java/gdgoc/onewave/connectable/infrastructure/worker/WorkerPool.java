@@ -0,0 +1,278 @@
+package gdgoc.onewave.connectable.infrastructure.worker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes grading calls across several worker services.
+ *
+ * <p>Each call goes to the cheaper of two randomly picked available workers, where cost is the
+ * worker's peak EWMA latency times its calls in flight plus one. With affinity on, calls for the
+ * same key (the script hash) go to the same worker by rendezvous hashing so its compiled-script
+ * cache stays warm, unless that worker already has {@code affinityMaxInFlight} calls.
+ *
+ * <p>A worker that fails {@code failureThreshold} calls in a row is ejected for
+ * {@code ejectionTime}, doubling on each repeated ejection up to {@code maxEjectionTime}. Once
+ * the time passes it is routed to again, and a single further failure ejects it again. If every
+ * worker is ejected, calls are spread across all of them rather than failing outright.
+ *
+ * <p>Exports {@code <name>.routed{worker,route}}, {@code <name>.ejections{worker}},
+ * {@code <name>.member.latency{worker}}, {@code <name>.member.in.flight{worker}} and
+ * {@code <name>.member.available{worker}}.
+ */
+public class WorkerPool {
+
+    public record Settings(
+            boolean affinity,
+            int affinityMaxInFlight,
+            int failureThreshold,
+            Duration ejectionTime,
+            Duration maxEjectionTime,
+            Duration latencyDecay,
+            Duration initialLatency
+    ) {
+        public static final Settings DEFAULTS = new Settings(false, 20, 5, Duration.ofSeconds(30),
+                Duration.ofMinutes(5), Duration.ofSeconds(10), Duration.ofSeconds(1));
+    }
+
+    enum Route {
+        SINGLE, P2C, AFFINITY, SPILL, PANIC;
+
+        private final String tag = name().toLowerCase();
+    }
+
+    private final Settings settings;
+    private final List<Member> members;
+
+    public WorkerPool(MeterRegistry registry, String name, List<String> urls, Settings settings) {
+        this.settings = settings;
+        List<Member> parsed = new ArrayList<>();
+        for (String url : urls) {
+            String trimmed = url.trim().replaceAll("/$", "");
+            if (!trimmed.isEmpty()) {
+                parsed.add(new Member(registry, name, trimmed));
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("At least one worker URL is required");
+        }
+        this.members = List.copyOf(parsed);
+    }
+
+    public List<Member> members() {
+        return members;
+    }
+
+    public boolean isAffinityEnabled() {
+        return settings.affinity();
+    }
+
+    /**
+     * Picks a worker for one call and counts the call as in flight on it. Release the returned
+     * member exactly once.
+     *
+     * @param affinityKey key to pin by when affinity is on, or null
+     */
+    public Member choose(String affinityKey) {
+        long now = System.nanoTime();
+        List<Member> candidates = new ArrayList<>(members.size());
+        for (Member member : members) {
+            if (member.isAvailable(now)) {
+                candidates.add(member);
+            }
+        }
+
+        Member chosen;
+        Route route;
+        if (candidates.isEmpty()) {
+            candidates = members;
+            chosen = powerOfTwoChoices(candidates, now);
+            route = Route.PANIC;
+        } else if (candidates.size() == 1) {
+            chosen = candidates.get(0);
+            route = Route.SINGLE;
+        } else if (settings.affinity() && affinityKey != null) {
+            chosen = rendezvous(candidates, affinityKey);
+            route = Route.AFFINITY;
+            if (chosen.inFlight.get() >= settings.affinityMaxInFlight()) {
+                chosen = powerOfTwoChoices(candidates, now);
+                route = Route.SPILL;
+            }
+        } else {
+            chosen = powerOfTwoChoices(candidates, now);
+            route = Route.P2C;
+        }
+        chosen.inFlight.incrementAndGet();
+        chosen.routed.get(route).increment();
+        return chosen;
+    }
+
+    private Member powerOfTwoChoices(List<Member> candidates, long now) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        if (candidates.size() == 1) {
+            return candidates.get(first);
+        }
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Member a = candidates.get(first);
+        Member b = candidates.get(second);
+        return a.cost(now) <= b.cost(now) ? a : b;
+    }
+
+    private static Member rendezvous(List<Member> candidates, String key) {
+        long keyHash = mix(key.hashCode());
+        Member best = null;
+        long bestScore = Long.MIN_VALUE;
+        for (Member member : candidates) {
+            long score = mix(keyHash ^ member.seed);
+            if (best == null || score > bestScore) {
+                best = member;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * One worker service and what the pool has seen of it.
+     */
+    public final class Member {
+
+        private final String url;
+        private final long seed;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Map<Route, Counter> routed = new EnumMap<>(Route.class);
+        private final Counter ejections;
+
+        // Guarded by this
+        private double latencyNanos = settings.initialLatency().toNanos();
+        private long lastSampleNanos = System.nanoTime();
+        private int consecutiveFailures;
+        private int ejectionCount;
+        private volatile long ejectedUntilNanos;
+        private volatile boolean ejected;
+
+        private Member(MeterRegistry registry, String name, String url) {
+            this.url = url;
+            this.seed = mix(url.hashCode());
+            for (Route route : Route.values()) {
+                routed.put(route, Counter.builder(name + ".routed")
+                        .description("Calls routed to a worker, by routing decision")
+                        .tag("worker", url)
+                        .tag("route", route.tag)
+                        .register(registry));
+            }
+            this.ejections = Counter.builder(name + ".ejections")
+                    .description("Times a worker was taken out of rotation after repeated failures")
+                    .tag("worker", url)
+                    .register(registry);
+            Gauge.builder(name + ".member.latency", this, member -> member.latencySeconds())
+                    .description("Peak EWMA call latency")
+                    .baseUnit("seconds")
+                    .tag("worker", url)
+                    .register(registry);
+            Gauge.builder(name + ".member.in.flight", inFlight, AtomicInteger::get)
+                    .description("Calls in flight on a worker")
+                    .tag("worker", url)
+                    .register(registry);
+            Gauge.builder(name + ".member.available", this,
+                            member -> member.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .description("1 if the worker is in rotation, 0 while ejected")
+                    .tag("worker", url)
+                    .register(registry);
+        }
+
+        public String url() {
+            return url;
+        }
+
+        /**
+         * Ends a call started by {@link WorkerPool#choose}, reporting whether it failed in a
+         * way that points at the worker (timeout, transport error, 5xx).
+         */
+        public void release(long latencyNanos, boolean failed) {
+            inFlight.decrementAndGet();
+            record(latencyNanos, failed);
+        }
+
+        void record(long latencyNanos, boolean failed) {
+            synchronized (this) {
+                long now = System.nanoTime();
+                // Peak EWMA: a slow call raises the estimate at once, recovery is gradual
+                this.latencyNanos = latencyNanos > this.latencyNanos
+                        ? latencyNanos
+                        : this.latencyNanos + (latencyNanos - this.latencyNanos) * (1 - weight(now));
+                lastSampleNanos = now;
+                if (!failed) {
+                    consecutiveFailures = 0;
+                    ejectionCount = 0;
+                    ejected = false;
+                    return;
+                }
+                consecutiveFailures++;
+                if (consecutiveFailures >= settings.failureThreshold() && !isEjected(now)) {
+                    long ejection = Math.min(settings.maxEjectionTime().toNanos(),
+                            settings.ejectionTime().toNanos() << Math.min(ejectionCount, 20));
+                    ejectedUntilNanos = now + ejection;
+                    ejected = true;
+                    ejectionCount++;
+                    // Back in rotation on probation: one more failure ejects it again
+                    consecutiveFailures = settings.failureThreshold() - 1;
+                    ejections.increment();
+                }
+            }
+        }
+
+        boolean isAvailable(long now) {
+            return !isEjected(now);
+        }
+
+        private boolean isEjected(long now) {
+            return ejected && now - ejectedUntilNanos < 0;
+        }
+
+        private double cost(long now) {
+            return latency(now) * (inFlight.get() + 1);
+        }
+
+        private double latencySeconds() {
+            return latency(System.nanoTime()) / TimeUnit.SECONDS.toNanos(1);
+        }
+
+        /**
+         * The estimate, drifting back to {@code initialLatency} while the worker gets no calls
+         * so a worker that was slow or ejected is tried again.
+         */
+        private synchronized double latency(long now) {
+            double weight = weight(now);
+            return latencyNanos * weight + settings.initialLatency().toNanos() * (1 - weight);
+        }
+
+        private double weight(long now) {
+            long elapsed = Math.max(0, now - lastSampleNanos);
+            return Math.exp(-(double) elapsed / settings.latencyDecay().toNanos());
+        }
+    }
+}
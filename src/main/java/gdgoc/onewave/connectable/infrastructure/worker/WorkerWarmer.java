@@ -0,0 +1,174 @@
+package gdgoc.onewave.connectable.infrastructure.worker;
+
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the grading workers warm with lightweight pings so the first gradings after an idle
+ * period do not pay the Cloud Run cold start.
+ *
+ * <p>Every worker is pinged each {@code idleInterval} (zero turns idle pings off), or each
+ * {@code activeInterval} while submissions or assignment views have been seen within
+ * {@code activityWindow} or a scheduled warm window is open. Windows start at each fire time of
+ * the configured cron expressions (e.g. half an hour before a known deadline) and last
+ * {@code windowDuration}. While active, a round sends one concurrent ping per
+ * {@code activityPerInstance} events a minute, up to {@code maxParallelPings}, so the worker
+ * scales out ahead of a burst instead of during it.
+ *
+ * <p>Exports {@code <name>.ping{worker,outcome}}, {@code <name>.cold.start{worker}} (pings
+ * slower than {@code coldStartThreshold}, i.e. ones that started an instance) and
+ * {@code <name>.activity.rate} (events per minute).
+ */
+@Slf4j
+public class WorkerWarmer {
+
+    public record Settings(
+            boolean enabled,
+            String path,
+            Duration idleInterval,
+            Duration activeInterval,
+            Duration activityWindow,
+            double activityPerInstance,
+            int maxParallelPings,
+            Duration pingTimeout,
+            Duration coldStartThreshold,
+            List<CronExpression> schedule,
+            Duration windowDuration,
+            ZoneId zone
+    ) {}
+
+    private static final long RATE_TIME_CONSTANT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final WebClient webClient;
+    private final WorkerPool workerPool;
+    private final MeterRegistry registry;
+    private final String name;
+    private final Settings settings;
+    private final AtomicInteger events = new AtomicInteger();
+
+    // Only touched by the scheduler thread
+    private long lastTickNanos = System.nanoTime();
+    private long lastPingNanos;
+    private long lastActivityNanos;
+    private boolean seenActivity;
+    private volatile double activityRate;
+
+    public WorkerWarmer(WebClient webClient, WorkerPool workerPool, MeterRegistry registry, String name,
+                        Settings settings) {
+        this.webClient = webClient;
+        this.workerPool = workerPool;
+        this.registry = registry;
+        this.name = name;
+        this.settings = settings;
+        Gauge.builder(name + ".activity.rate", this, warmer -> warmer.activityRate)
+                .description("Smoothed submissions and assignment views per minute")
+                .register(registry);
+    }
+
+    /**
+     * Notes a submission or assignment view, a sign that gradings are coming.
+     */
+    public void recordActivity() {
+        if (settings.enabled()) {
+            events.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+    public void tick() {
+        if (!settings.enabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        int recent = events.getAndSet(0);
+        updateActivityRate(now, recent);
+        if (recent > 0) {
+            lastActivityNanos = now;
+            seenActivity = true;
+        }
+
+        boolean active = (seenActivity && now - lastActivityNanos < settings.activityWindow().toNanos())
+                || inScheduledWindow(ZonedDateTime.now(settings.zone()));
+        Duration interval = active ? settings.activeInterval() : settings.idleInterval();
+        if (interval.isZero() || (lastPingNanos != 0 && now - lastPingNanos < interval.toNanos())) {
+            return;
+        }
+        lastPingNanos = now;
+
+        int parallel = active
+                ? (int) Math.max(1, Math.min(settings.maxParallelPings(),
+                        Math.ceil(activityRate / settings.activityPerInstance())))
+                : 1;
+        for (WorkerPool.Member worker : workerPool.members()) {
+            for (int i = 0; i < parallel; i++) {
+                ping(worker);
+            }
+        }
+    }
+
+    private void updateActivityRate(long now, int recent) {
+        long elapsed = Math.max(1, now - lastTickNanos);
+        lastTickNanos = now;
+        double perMinute = recent * (double) TimeUnit.MINUTES.toNanos(1) / elapsed;
+        double weight = Math.exp(-(double) elapsed / RATE_TIME_CONSTANT_NANOS);
+        activityRate = activityRate * weight + perMinute * (1 - weight);
+    }
+
+    boolean inScheduledWindow(ZonedDateTime now) {
+        ZonedDateTime windowStart = now.minus(settings.windowDuration());
+        for (CronExpression cron : settings.schedule()) {
+            ZonedDateTime fire = cron.next(windowStart);
+            if (fire != null && !fire.isAfter(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void ping(WorkerPool.Member worker) {
+        long startNanos = System.nanoTime();
+        webClient.get()
+                .uri(worker.url() + settings.path())
+                // Any response means an instance is up; the status does not matter
+                .exchangeToMono(response -> response.releaseBody())
+                .timeout(settings.pingTimeout())
+                .subscribe(
+                        null,
+                        e -> {
+                            record(worker, OutcomeTimer.ERROR, System.nanoTime() - startNanos);
+                            log.warn("Warm-up ping to worker {} failed: {}", worker.url(), e.toString());
+                        },
+                        () -> record(worker, OutcomeTimer.SUCCESS, System.nanoTime() - startNanos));
+    }
+
+    private void record(WorkerPool.Member worker, String outcome, long latencyNanos) {
+        Timer.builder(name + ".ping")
+                .description("Warm-up pings to grading workers")
+                .tag("worker", worker.url())
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (OutcomeTimer.SUCCESS.equals(outcome) && latencyNanos > settings.coldStartThreshold().toNanos()) {
+            Timer.builder(name + ".cold.start")
+                    .description("Warm-up pings that waited for a worker instance to start")
+                    .tag("worker", worker.url())
+                    .register(registry)
+                    .record(latencyNanos, TimeUnit.NANOSECONDS);
+            log.info("Worker {} was cold: warm-up ping took {} ms",
+                    worker.url(), TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+-- Initial schema (SPECIFICATION.md §3), as deployed before migrations were versioned.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate), so this
+-- only runs on empty ones. submission.status is a VARCHAR with a check constraint, as
+-- Hibernate maps @Enumerated(STRING).
+CREATE TABLE IF NOT EXISTS assignment (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    content TEXT NOT NULL,
+    sub_tasks JSONB NOT NULL DEFAULT '[]',
+    ai_script TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_assignment_user ON assignment (user_id);
+
+CREATE TABLE IF NOT EXISTS submission (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    user_id UUID NOT NULL,
+    assignment_id UUID NOT NULL REFERENCES assignment(id) ON DELETE CASCADE,
+    file_url TEXT NOT NULL,
+    status VARCHAR(255) NOT NULL CONSTRAINT submission_status_check CHECK (status IN ('COMPLETED', 'FAILED')),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_submission_assignment ON submission (assignment_id);
+CREATE INDEX IF NOT EXISTS idx_submission_user ON submission (user_id);
+
+CREATE TABLE IF NOT EXISTS grading_result (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    submission_id UUID NOT NULL REFERENCES submission(id) ON DELETE CASCADE,
+    task_name VARCHAR(255) NOT NULL,
+    is_passed BOOLEAN NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_grading_result_submission ON grading_result (submission_id);
@@ -0,0 +1,4 @@
+-- Keyset pagination for GET /api/assignments (ORDER BY created_at DESC, id DESC).
+-- ddl-auto=validate does not manage indexes, so the index lives here.
+CREATE INDEX IF NOT EXISTS idx_assignment_created_at_id
+    ON assignment (created_at DESC, id DESC);
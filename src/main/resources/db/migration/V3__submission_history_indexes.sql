@@ -0,0 +1,7 @@
+-- Submission history (assignment, user, newest first) and leaderboard scans by assignment.
+CREATE INDEX IF NOT EXISTS idx_submission_assignment_user_created
+    ON submission (assignment_id, user_id, created_at DESC);
+
+-- Already part of the initial schema; kept here so a fresh database matches.
+CREATE INDEX IF NOT EXISTS idx_grading_result_submission
+    ON grading_result (submission_id);
@@ -0,0 +1,67 @@
+-- Per-submission score columns (backfilled from grading_result).
+ALTER TABLE submission
+    ADD COLUMN IF NOT EXISTS passed_count INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS total_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE submission s
+SET passed_count = agg.passed_count,
+    total_count = agg.total_count
+FROM (
+    SELECT submission_id,
+           COUNT(*) FILTER (WHERE is_passed) AS passed_count,
+           COUNT(*) AS total_count
+    FROM grading_result
+    GROUP BY submission_id
+) agg
+WHERE agg.submission_id = s.id;
+
+-- Per-assignment aggregates maintained by AssignmentStatsService.
+CREATE TABLE IF NOT EXISTS assignment_participant (
+    assignment_id UUID NOT NULL REFERENCES assignment(id) ON DELETE CASCADE,
+    user_id UUID NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    PRIMARY KEY (assignment_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS assignment_stats (
+    assignment_id UUID PRIMARY KEY REFERENCES assignment(id) ON DELETE CASCADE,
+    attempt_count BIGINT NOT NULL DEFAULT 0,
+    user_count BIGINT NOT NULL DEFAULT 0,
+    pass_rate_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+CREATE TABLE IF NOT EXISTS assignment_task_stats (
+    assignment_id UUID NOT NULL REFERENCES assignment(id) ON DELETE CASCADE,
+    task_name VARCHAR(255) NOT NULL,
+    attempt_count BIGINT NOT NULL DEFAULT 0,
+    passed_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (assignment_id, task_name)
+);
+
+-- Backfill from existing submissions.
+INSERT INTO assignment_participant (assignment_id, user_id, created_at)
+SELECT assignment_id, user_id, MIN(created_at)
+FROM submission
+GROUP BY assignment_id, user_id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO assignment_stats (assignment_id, attempt_count, user_count, pass_rate_sum, updated_at)
+SELECT assignment_id,
+       COUNT(*),
+       COUNT(DISTINCT user_id),
+       SUM(CASE WHEN total_count > 0 THEN passed_count::DOUBLE PRECISION / total_count ELSE 0 END),
+       NOW()
+FROM submission
+GROUP BY assignment_id
+ON CONFLICT (assignment_id) DO NOTHING;
+
+INSERT INTO assignment_task_stats (assignment_id, task_name, attempt_count, passed_count)
+SELECT s.assignment_id,
+       gr.task_name,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE gr.is_passed)
+FROM grading_result gr
+JOIN submission s ON s.id = gr.submission_id
+GROUP BY s.assignment_id, gr.task_name
+ON CONFLICT (assignment_id, task_name) DO NOTHING;
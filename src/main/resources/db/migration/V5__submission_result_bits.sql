@@ -0,0 +1,3 @@
+-- Compact grading results (grading.result-storage=compact): bit i = outcome of assignment.sub_tasks[i].
+ALTER TABLE submission
+    ADD COLUMN IF NOT EXISTS result_bits BYTEA;
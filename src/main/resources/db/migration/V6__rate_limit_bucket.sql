@@ -0,0 +1,7 @@
+-- Token buckets shared by all instances when submission.rate-limit.store=jdbc.
+-- Updated only through JdbcRateLimitStore's upsert; rows idle for a day are purged.
+CREATE TABLE IF NOT EXISTS rate_limit_bucket (
+    bucket_key VARCHAR(128) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,25 @@
+-- Submissions may now wait in PENDING until a queued grading job finishes.
+ALTER TABLE submission DROP CONSTRAINT IF EXISTS submission_status_check;
+ALTER TABLE submission ADD CONSTRAINT submission_status_check
+    CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED'));
+
+-- Durable grading queue (grading.queue.enabled=true), one job per submission.
+-- Claimed with FOR UPDATE SKIP LOCKED by GradingJobQueue; finished jobs are deleted,
+-- jobs out of attempts stay as DEAD for inspection.
+CREATE TABLE IF NOT EXISTS grading_job (
+    submission_id UUID PRIMARY KEY REFERENCES submission(id) ON DELETE CASCADE,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    max_attempts INTEGER NOT NULL,
+    available_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    lease_owner VARCHAR(64),
+    lease_expires_at TIMESTAMP WITH TIME ZONE,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW()
+);
+
+-- Claim scans: ready jobs in order, and running jobs whose lease ran out.
+CREATE INDEX IF NOT EXISTS idx_grading_job_pending
+    ON grading_job (available_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_grading_job_running_lease
+    ON grading_job (lease_expires_at) WHERE status = 'RUNNING';
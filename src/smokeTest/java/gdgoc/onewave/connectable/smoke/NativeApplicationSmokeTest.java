@@ -0,0 +1,238 @@
+package gdgoc.onewave.connectable.smoke;
+
+import com.jayway.jsonpath.JsonPath;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the native executable as a separate process against PostgreSQL in a container and
+ * MockWebServer stand-ins for Gemini and the grading worker, then walks the main API flow.
+ * Each step exercises code paths that need native-image hints (JsonType, worker records,
+ * projections, springdoc, actuator).
+ *
+ * <p>Run with {@code ./gradlew smokeTest}; process output goes to build/smoke-test/native.log.
+ */
+@Testcontainers
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class NativeApplicationSmokeTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+    private static final List<String> SUB_TASKS = List.of("Page title is visible", "Login form submits");
+    private static final String USER_ID = UUID.randomUUID().toString();
+
+    @Container
+    static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine");
+
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private static MockWebServer worker;
+    private static MockWebServer gemini;
+    private static Process application;
+    private static String baseUrl;
+    private static String assignmentId;
+
+    @BeforeAll
+    static void startNativeApplication() throws Exception {
+        worker = start(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String submissionId = JsonPath.read(request.getBody().readUtf8(), "$.submissionId");
+                return json("""
+                        {"submissionId": "%s", "success": true, "errorMessage": null,
+                         "results": [{"taskName": "%s", "isPassed": true}, {"taskName": "%s", "isPassed": false}]}
+                        """.formatted(submissionId, SUB_TASKS.get(0), SUB_TASKS.get(1)));
+            }
+        });
+        gemini = start(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return json("""
+                        {"candidates": [{"content": {"role": "model", "parts": [{"text":
+                          "```typescript\\n// Task: Page title is visible\\ntest('title', async ({ page }) => {});\\n```"}]}}]}
+                        """);
+            }
+        });
+
+        String binary = System.getProperty("smoke.binary");
+        assertThat(new File(binary)).as("native executable (run ./gradlew nativeCompile)").canExecute();
+
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        baseUrl = "http://localhost:" + port;
+
+        Path log = Path.of("build", "smoke-test", "native.log");
+        Files.createDirectories(log.getParent());
+        long startedAt = System.nanoTime();
+        application = new ProcessBuilder(
+                binary,
+                "--spring.profiles.active=startup",
+                "--server.port=" + port,
+                "--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                "--spring.datasource.username=" + POSTGRES.getUsername(),
+                "--spring.datasource.password=" + POSTGRES.getPassword(),
+                "--worker.url=" + worker.url("").toString().replaceAll("/$", ""),
+                "--gemini.base-url=" + gemini.url("/v1/models/"),
+                "--gemini.api-key=smoke",
+                "--gcs.bucket-name=smoke",
+                "--submission.probe.enabled=false",
+                "--worker.warmup.enabled=false")
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        awaitHealthy();
+        System.out.printf("Native application ready in %d ms%n", Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+    }
+
+    @AfterAll
+    static void stopNativeApplication() throws IOException {
+        if (application != null) {
+            application.destroy();
+        }
+        if (worker != null) {
+            worker.shutdown();
+        }
+        if (gemini != null) {
+            gemini.shutdown();
+        }
+    }
+
+    @Test
+    @Order(1)
+    void createAssignment_shouldStoreGeneratedScript() throws Exception {
+        HttpResponse<String> response = post("/api/assignments", """
+                {"userId": "%s", "title": "Smoke", "content": "# Login page", "subTasks": ["%s", "%s"]}
+                """.formatted(USER_ID, SUB_TASKS.get(0), SUB_TASKS.get(1)));
+
+        assertThat(response.statusCode()).isEqualTo(201);
+        assignmentId = JsonPath.read(response.body(), "$.data.id");
+        String script = JsonPath.read(response.body(), "$.data.aiScript");
+        assertThat(script).startsWith("// Task:").doesNotContain("```");
+    }
+
+    @Test
+    @Order(2)
+    void getAssignment_shouldReadJsonbSubTasks() throws Exception {
+        HttpResponse<String> response = get("/api/assignments/" + assignmentId);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        List<String> subTasks = JsonPath.read(response.body(), "$.data.subTasks");
+        assertThat(subTasks).containsExactlyElementsOf(SUB_TASKS);
+    }
+
+    @Test
+    @Order(3)
+    void submit_shouldRoundTripWorkerPayloads() throws Exception {
+        HttpResponse<String> response = post("/api/assignments/" + assignmentId + "/submissions", """
+                {"userId": "%s", "url": "https://example.com/index.html"}
+                """.formatted(USER_ID));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat((String) JsonPath.read(response.body(), "$.data.status")).isEqualTo("COMPLETED");
+        assertThat((Integer) JsonPath.read(response.body(), "$.data.summary.passedCount")).isEqualTo(1);
+    }
+
+    @Test
+    @Order(4)
+    void historyLeaderboardAndStats_shouldRespond() throws Exception {
+        HttpResponse<String> history = get("/api/assignments/" + assignmentId + "/submissions?userId=" + USER_ID);
+        HttpResponse<String> leaderboard = get("/api/assignments/" + assignmentId + "/leaderboard");
+        HttpResponse<String> stats = get("/api/assignments/" + assignmentId + "/stats");
+
+        assertThat(history.statusCode()).isEqualTo(200);
+        assertThat((List<?>) JsonPath.read(history.body(), "$.data")).hasSize(1);
+        assertThat(leaderboard.statusCode()).isEqualTo(200);
+        assertThat((String) JsonPath.read(leaderboard.body(), "$.data[0].userId")).isEqualTo(USER_ID);
+        assertThat(stats.statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    @Order(5)
+    void apiDocsAndMetrics_shouldBeServed() throws Exception {
+        HttpResponse<String> apiDocs = get("/v3/api-docs");
+        HttpResponse<String> swaggerUi = get("/swagger-ui/index.html");
+        HttpResponse<String> prometheus = get("/actuator/prometheus");
+
+        assertThat(apiDocs.statusCode()).isEqualTo(200);
+        assertThat(apiDocs.body()).contains("Connectable API Specification");
+        assertThat(swaggerUi.statusCode()).isEqualTo(200);
+        assertThat(prometheus.statusCode()).isEqualTo(200);
+        assertThat(prometheus.body()).contains("grading_worker_requests_seconds");
+    }
+
+    private static void awaitHealthy() throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        Pattern up = Pattern.compile("\"status\"\\s*:\\s*\"UP\"");
+        while (System.nanoTime() < deadline) {
+            assertThat(application.isAlive()).as("native process exited, see build/smoke-test/native.log").isTrue();
+            try {
+                HttpResponse<String> health = get("/actuator/health");
+                Matcher matcher = up.matcher(health.body());
+                if (health.statusCode() == 200 && matcher.find()) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // keep polling
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Native application did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    private static HttpResponse<String> get(String path) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String path, String json) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setBody(body).addHeader("Content-Type", "application/json");
+    }
+
+    private static MockWebServer start(Dispatcher dispatcher) throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(dispatcher);
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,50 @@
+package gdgoc.onewave.connectable.domain.assignment.service;
+
+import gdgoc.onewave.connectable.global.exception.BusinessException;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AssignmentCursorTest {
+
+    @Test
+    void decode_ofEncodedCursor_shouldRoundTrip() {
+        // Given
+        AssignmentCursor cursor = new AssignmentCursor(
+                LocalDateTime.of(2026, 10, 19, 12, 30, 15, 123_456_000), UUID.randomUUID());
+
+        // When
+        String token = cursor.encode();
+
+        // Then
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(AssignmentCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_withMalformedToken_shouldRejectWithInvalidCursor() {
+        String notBase64 = "%%%";
+        String noSeparator = encode("2026-10-19T12:30:15");
+        String badTimestamp = encode("yesterday|" + UUID.randomUUID());
+        String badId = encode("2026-10-19T12:30:15|not-a-uuid");
+
+        for (String token : new String[]{notBase64, noSeparator, badTimestamp, badId}) {
+            assertThatThrownBy(() -> AssignmentCursor.decode(token))
+                    .as(token)
+                    .isInstanceOf(BusinessException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
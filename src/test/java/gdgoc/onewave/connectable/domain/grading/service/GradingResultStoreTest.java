@@ -0,0 +1,109 @@
+package gdgoc.onewave.connectable.domain.grading.service;
+
+import gdgoc.onewave.connectable.domain.grading.dto.GradingResultResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradingResultStoreTest {
+
+    private GradingResultStore gradingResultStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gradingResultStore = new GradingResultStore(null);
+
+        var field = GradingResultStore.class.getDeclaredField("resultStorage");
+        field.setAccessible(true);
+        field.set(gradingResultStore, "compact");
+    }
+
+    @Test
+    void encode_thenDecode_shouldRoundTripInSubTaskOrder() {
+        // Given
+        List<String> subTasks = List.of("GNB UI", "Login validation", "Footer");
+        List<GradingResultResponse> results = List.of(
+                new GradingResultResponse("Footer", true),
+                new GradingResultResponse("GNB UI", true),
+                new GradingResultResponse("Login validation", false)
+        );
+
+        // When
+        byte[] bits = gradingResultStore.encode(subTasks, results);
+
+        // Then
+        assertThat(bits).hasSize(1);
+        assertThat(GradingResultStore.decode(bits, subTasks)).containsExactly(
+                new GradingResultResponse("GNB UI", true),
+                new GradingResultResponse("Login validation", false),
+                new GradingResultResponse("Footer", true)
+        );
+    }
+
+    @Test
+    void inSubTaskOrder_shouldFollowSubTasksThenKeepUnknownTasksInStoredOrder() {
+        // Given
+        List<String> subTasks = List.of("GNB UI", "Login validation", "Footer");
+        List<GradingResultResponse> stored = List.of(
+                new GradingResultResponse("Footer", true),
+                new GradingResultResponse("Extra B", false),
+                new GradingResultResponse("GNB UI", true),
+                new GradingResultResponse("Extra A", true),
+                new GradingResultResponse("Login validation", false)
+        );
+
+        // When
+        List<GradingResultResponse> ordered = GradingResultStore.inSubTaskOrder(stored, subTasks);
+
+        // Then
+        assertThat(ordered).containsExactly(
+                new GradingResultResponse("GNB UI", true),
+                new GradingResultResponse("Login validation", false),
+                new GradingResultResponse("Footer", true),
+                new GradingResultResponse("Extra B", false),
+                new GradingResultResponse("Extra A", true)
+        );
+    }
+
+    @Test
+    void encode_withAllFailed_shouldDecodeAsFailed() {
+        // Given
+        List<String> subTasks = List.of("Task 1", "Task 2");
+        List<GradingResultResponse> results = List.of(
+                new GradingResultResponse("Task 1", false),
+                new GradingResultResponse("Task 2", false)
+        );
+
+        // When
+        byte[] bits = gradingResultStore.encode(subTasks, results);
+
+        // Then
+        assertThat(bits).isNotNull().isEmpty();
+        assertThat(GradingResultStore.decode(bits, subTasks)).allMatch(r -> !r.isPassed());
+    }
+
+    @Test
+    void encode_withUnknownTaskName_shouldFallBackToRows() {
+        // Given
+        List<String> subTasks = List.of("Task 1");
+        List<GradingResultResponse> results = List.of(new GradingResultResponse("Grading Evaluation", false));
+
+        // When & Then
+        assertThat(gradingResultStore.encode(subTasks, results)).isNull();
+    }
+
+    @Test
+    void encode_inRowsMode_shouldReturnNull() throws Exception {
+        // Given
+        var field = GradingResultStore.class.getDeclaredField("resultStorage");
+        field.setAccessible(true);
+        field.set(gradingResultStore, "rows");
+
+        // When & Then
+        assertThat(gradingResultStore.encode(
+                List.of("Task 1"), List.of(new GradingResultResponse("Task 1", true)))).isNull();
+    }
+}
@@ -0,0 +1,43 @@
+package gdgoc.onewave.connectable.domain.submission.service;
+
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.exception.RetryAfterException;
+import gdgoc.onewave.connectable.global.ratelimit.InMemoryRateLimitStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubmissionRateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void check_whenAssignmentBucketIsEmpty_shouldNotSpendTheUserToken() {
+        // Given (2 per user, 1 per assignment, refilled only after minutes)
+        SubmissionRateLimiter limiter = new SubmissionRateLimiter(
+                new InMemoryRateLimitStore(1000, Duration.ofHours(1)), meterRegistry, true, 2, 0.1, 1, 0.1);
+        UUID busyAssignment = UUID.randomUUID();
+        limiter.check(busyAssignment, "other-user");
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> limiter.check(busyAssignment, "user-a"))
+                    .isInstanceOf(RetryAfterException.class)
+                    .extracting("errorCode").isEqualTo(ErrorCode.TOO_MANY_SUBMISSIONS);
+        }
+
+        // Then
+        assertThatCode(() -> limiter.check(UUID.randomUUID(), "user-a")).doesNotThrowAnyException();
+        assertThatCode(() -> limiter.check(UUID.randomUUID(), "user-a")).doesNotThrowAnyException();
+        assertThat(meterRegistry.get("submission.rate.limited").tag("scope", "assignment").counter().count())
+                .isEqualTo(5.0);
+        assertThat(meterRegistry.get("submission.rate.limited").tag("scope", "user").counter().count())
+                .isZero();
+    }
+}
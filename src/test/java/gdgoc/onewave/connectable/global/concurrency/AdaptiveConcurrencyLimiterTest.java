@@ -0,0 +1,105 @@
+package gdgoc.onewave.connectable.global.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int maxQueueSize, Duration maxWait) {
+        return new AdaptiveConcurrencyLimiter(meterRegistry, "test.limiter",
+                new AdaptiveConcurrencyLimiter.Settings(initialLimit, 1, 10, 0.5,
+                        Duration.ofSeconds(30), maxQueueSize, maxWait));
+    }
+
+    @Test
+    void acquire_beyondLimitWithFullQueue_shouldReject() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 0, Duration.ofMillis(50));
+        limiter.acquire().orElseThrow();
+        limiter.acquire().orElseThrow();
+
+        // When
+        Optional<AdaptiveConcurrencyLimiter.Permit> third = limiter.acquire();
+
+        // Then
+        assertThat(third).isEmpty();
+        assertThat(meterRegistry.get("test.limiter.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_whenQueued_shouldBeGrantedOnRelease() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 5, Duration.ofSeconds(5));
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire().orElseThrow();
+        CompletableFuture<Optional<AdaptiveConcurrencyLimiter.Permit>> queued =
+                CompletableFuture.supplyAsync(limiter::acquire);
+        awaitQueueDepth(limiter, 1);
+
+        // When
+        first.release(false);
+
+        // Then
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isPresent();
+        assertThat(limiter.getQueueDepth()).isZero();
+        assertThat(meterRegistry.get("test.limiter.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void acquire_whenWaitTimesOut_shouldRejectAndLeaveQueue() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 5, Duration.ofMillis(50));
+        limiter.acquire().orElseThrow();
+
+        // When
+        Optional<AdaptiveConcurrencyLimiter.Permit> waited = limiter.acquire();
+
+        // Then
+        assertThat(waited).isEmpty();
+        assertThat(limiter.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void release_withOverload_shouldShrinkLimitMultiplicatively() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 0, Duration.ofMillis(50));
+
+        // When
+        limiter.acquire().orElseThrow().release(true);
+
+        // Then
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(meterRegistry.get("test.limiter.limit").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void release_successWhileSaturated_shouldGrowLimitByOne() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 0, Duration.ofMillis(50));
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire().orElseThrow();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.acquire().orElseThrow();
+
+        // When
+        first.release(false);
+        second.release(false);
+
+        // Then (only the first release happened at full utilisation)
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private static void awaitQueueDepth(AdaptiveConcurrencyLimiter limiter, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (limiter.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
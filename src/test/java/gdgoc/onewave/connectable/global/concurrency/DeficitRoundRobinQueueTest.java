@@ -0,0 +1,72 @@
+package gdgoc.onewave.connectable.global.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeficitRoundRobinQueueTest {
+
+    @Test
+    void poll_shouldAlternateGroupsSoABusyGroupCannotStarveOthers() {
+        // Given
+        DeficitRoundRobinQueue<String> queue = new DeficitRoundRobinQueue<>();
+        for (int i = 1; i <= 4; i++) {
+            queue.add("big-class", "user-" + i, 1.0, "big-" + i);
+        }
+        queue.add("small-class", "user-x", 1.0, "small-1");
+        queue.add("small-class", "user-y", 1.0, "small-2");
+
+        // When
+        List<String> order = drain(queue);
+
+        // Then
+        assertThat(order).containsExactly("big-1", "small-1", "big-2", "small-2", "big-3", "big-4");
+    }
+
+    @Test
+    void poll_shouldShareAGroupAcrossMembersByWeight() {
+        // Given (a looping resubmitter, and a first attempt weighted 2.0)
+        DeficitRoundRobinQueue<String> queue = new DeficitRoundRobinQueue<>();
+        for (int i = 1; i <= 4; i++) {
+            queue.add("class", "looper", 1.0, "loop-" + i);
+        }
+        queue.add("class", "newcomer", 2.0, "first-1");
+        queue.add("class", "newcomer", 2.0, "first-2");
+
+        // When
+        List<String> order = drain(queue);
+
+        // Then
+        assertThat(order).containsExactly("loop-1", "first-1", "first-2", "loop-2", "loop-3", "loop-4");
+    }
+
+    @Test
+    void remove_shouldDropEmptyLanes() {
+        // Given
+        DeficitRoundRobinQueue<String> queue = new DeficitRoundRobinQueue<>();
+        queue.add("a", "u1", 1.0, "a-1");
+        queue.add("b", "u2", 1.0, "b-1");
+
+        // When
+        boolean removed = queue.remove("a-1");
+
+        // Then
+        assertThat(removed).isTrue();
+        assertThat(queue.groupCount()).isEqualTo(1);
+        assertThat(queue.memberCount()).isEqualTo(1);
+        assertThat(queue.poll()).isEqualTo("b-1");
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    private static List<String> drain(DeficitRoundRobinQueue<String> queue) {
+        List<String> order = new ArrayList<>();
+        String next;
+        while ((next = queue.poll()) != null) {
+            order.add(next);
+        }
+        return order;
+    }
+}
@@ -0,0 +1,104 @@
+package gdgoc.onewave.connectable.global.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private StubDataSource primary;
+    private StubDataSource replica;
+    private ReplicaRoutingDataSource router;
+
+    @BeforeEach
+    void setUp() {
+        primary = new StubDataSource();
+        replica = new StubDataSource();
+        router = new ReplicaRoutingDataSource(new SimpleMeterRegistry(), primary, replica, Duration.ofSeconds(5));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void getConnection_inReadOnlyTransaction_shouldUseReplica() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // When
+        router.getConnection();
+
+        // Then
+        assertThat(replica.connections).hasValue(1);
+        assertThat(primary.connections).hasValue(0);
+    }
+
+    @Test
+    void getConnection_readOnlyAfterWriteInSameRequest_shouldStayOnPrimary() throws SQLException {
+        // Given
+        router.getConnection();
+
+        // When
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        router.getConnection();
+
+        // Then
+        assertThat(primary.connections).hasValue(2);
+        assertThat(replica.connections).hasValue(0);
+    }
+
+    @Test
+    void getConnection_whenReplicaFails_shouldFallBackToPrimaryUntilCheckPasses() throws SQLException {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replica.failing = true;
+
+        // When
+        router.getConnection();
+        router.getConnection();
+
+        // Then
+        assertThat(primary.connections).hasValue(2);
+        assertThat(replica.connections).hasValue(1);
+        assertThat(router.isReplicaAvailable()).isFalse();
+    }
+
+    private static class StubDataSource extends AbstractDataSource {
+
+        final AtomicInteger connections = new AtomicInteger();
+        volatile boolean failing;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            if (failing) {
+                throw new SQLException("Connection refused");
+            }
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> null);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package gdgoc.onewave.connectable.global.idempotency;
+
+import gdgoc.onewave.connectable.global.exception.BusinessException;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(
+            new SimpleMeterRegistry(), Duration.ofHours(1), 1000, Duration.ofSeconds(5));
+
+    @Test
+    void execute_withRepeatedKey_shouldReturnStoredResultWithoutRunningAgain() {
+        // Given
+        AtomicInteger runs = new AtomicInteger();
+        store.execute("submission:a", "key-1", "body", runs::incrementAndGet);
+
+        // When
+        Integer replayed = store.execute("submission:a", "key-1", "body", runs::incrementAndGet);
+
+        // Then
+        assertThat(replayed).isEqualTo(1);
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_withReplayHook_shouldApplyItToReplaysOnly() {
+        // Given
+        String first = store.execute("submission:a", "key-1", "body", () -> "PENDING", status -> "refreshed");
+
+        // When
+        String replayed = store.execute("submission:a", "key-1", "body", () -> "graded again",
+                status -> status + " -> COMPLETED");
+
+        // Then
+        assertThat(first).isEqualTo("PENDING");
+        assertThat(replayed).isEqualTo("PENDING -> COMPLETED");
+    }
+
+    @Test
+    void execute_whileFirstCallInFlight_shouldAttachToIt() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() ->
+                store.execute("submission:a", "key-1", "body", () -> {
+                    started.countDown();
+                    await(finish);
+                    return runs.incrementAndGet();
+                }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<Integer> retry = CompletableFuture.supplyAsync(() ->
+                store.execute("submission:a", "key-1", "body", runs::incrementAndGet));
+        finish.countDown();
+
+        // Then
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(retry.get(1, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_afterFailure_shouldRunAgain() {
+        // Given
+        assertThatThrownBy(() -> store.execute("submission:a", "key-1", "body", () -> {
+            throw new BusinessException(ErrorCode.GRADING_WORKER_BUSY);
+        })).isInstanceOf(BusinessException.class);
+
+        // When
+        String result = store.execute("submission:a", "key-1", "body", () -> "graded");
+
+        // Then
+        assertThat(result).isEqualTo("graded");
+    }
+
+    @Test
+    void execute_afterError_shouldFreeKeyAndFailWaitingRetries() throws Exception {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        IdempotencyStore store = new IdempotencyStore(meterRegistry, Duration.ofHours(1), 1000, Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() ->
+                store.execute("submission:a", "key-1", "body", () -> {
+                    started.countDown();
+                    await(finish);
+                    throw new StackOverflowError();
+                }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> attached = CompletableFuture.supplyAsync(() ->
+                store.execute("submission:a", "key-1", "body", () -> "never run"));
+        while (meterRegistry.get("idempotency.replayed").counter().count() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // When
+        finish.countDown();
+
+        // Then
+        assertThatThrownBy(() -> first.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+        assertThatThrownBy(() -> attached.get(1, TimeUnit.SECONDS))
+                .cause()
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.INTERNAL_ERROR);
+        assertThat(store.execute("submission:a", "key-1", "body", () -> "graded")).isEqualTo("graded");
+    }
+
+    @Test
+    void execute_withReusedKeyAndDifferentBody_shouldReject() {
+        // Given
+        store.execute("submission:a", "key-1", "body", () -> "graded");
+
+        // When / Then
+        assertThatThrownBy(() -> store.execute("submission:a", "key-1", "other body", () -> "graded"))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package gdgoc.onewave.connectable.global.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DebugLoggingFilterTest {
+
+    private boolean debugDuringRequest(String token, String header) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/assignments/1/submissions");
+        if (header != null) {
+            request.addHeader(DebugLoggingFilter.HEADER, header);
+        }
+        AtomicBoolean debug = new AtomicBoolean();
+        new DebugLoggingFilter(token).doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> debug.set(DebugLoggingFilter.isDebugRequested()));
+        return debug.get();
+    }
+
+    @Test
+    void doFilter_withMatchingToken_shouldFlagRequestOnlyWhileItRuns() throws Exception {
+        assertThat(debugDuringRequest("s3cret", "s3cret")).isTrue();
+        assertThat(DebugLoggingFilter.isDebugRequested()).isFalse();
+    }
+
+    @Test
+    void doFilter_withWrongOrMissingToken_shouldIgnoreHeader() throws Exception {
+        assertThat(debugDuringRequest("s3cret", "true")).isFalse();
+        assertThat(debugDuringRequest("s3cret", null)).isFalse();
+    }
+
+    @Test
+    void doFilter_withoutConfiguredToken_shouldIgnoreHeader() throws Exception {
+        assertThat(debugDuringRequest("", "true")).isFalse();
+        assertThat(debugDuringRequest("", "")).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package gdgoc.onewave.connectable.global.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(1000, Duration.ofHours(1));
+
+    @Test
+    void tryAcquire_beyondCapacity_shouldRejectWithSecondsUntilNextToken() {
+        // Given (3 per burst, one token every 20 seconds)
+        RateLimit limit = RateLimit.perMinute(3, 3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryAcquire("user:a", limit)).isZero();
+        }
+
+        // When
+        long retryAfter = store.tryAcquire("user:a", limit);
+
+        // Then
+        assertThat(retryAfter).isBetween(19L, 20L);
+        assertThat(store.tryAcquire("user:b", limit)).isZero();
+    }
+
+    @Test
+    void refund_shouldReturnTokenWithoutExceedingCapacity() {
+        // Given
+        RateLimit limit = RateLimit.perMinute(2, 0.001);
+        assertThat(store.tryAcquire("user:a", limit)).isZero();
+        assertThat(store.tryAcquire("user:a", limit)).isZero();
+
+        // When
+        store.refund("user:a", limit);
+        store.refund("user:a", limit);
+        store.refund("user:a", limit);
+
+        // Then
+        assertThat(store.tryAcquire("user:a", limit)).isZero();
+        assertThat(store.tryAcquire("user:a", limit)).isZero();
+        assertThat(store.tryAcquire("user:a", limit)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_concurrently_shouldNeverOverdrawTheBucket() throws Exception {
+        // Given
+        RateLimit limit = RateLimit.perMinute(50, 0.001);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> {
+                    if (store.tryAcquire("assignment:x", limit) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        assertThat(granted.get()).isEqualTo(50);
+    }
+}
@@ -0,0 +1,194 @@
+package gdgoc.onewave.connectable.infrastructure.probe;
+
+import gdgoc.onewave.connectable.global.exception.BusinessException;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubmissionUrlProbeTest {
+
+    private MockWebServer mockWebServer;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void probe_withLoopbackTarget_shouldRejectWithoutConnecting() {
+        // Given
+        SubmissionUrlProbe probe = createProbe(false);
+
+        // When / Then
+        assertThatThrownBy(() -> probe.probe(mockWebServer.url("/index.html").toString()))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.SUBMISSION_URL_BLOCKED);
+        assertThat(mockWebServer.getRequestCount()).isZero();
+        assertThat(meterRegistry.get("submission.probe").tag("outcome", "blocked").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void probe_withLoopbackIpLiteral_shouldRejectWithoutConnecting() {
+        // Given
+        SubmissionUrlProbe probe = createProbe(false);
+
+        // When / Then
+        assertThatThrownBy(() -> probe.probe("http://127.0.0.1:" + mockWebServer.getPort() + "/"))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.SUBMISSION_URL_BLOCKED);
+        assertThatThrownBy(() -> probe.probe("http://[::1]:" + mockWebServer.getPort() + "/"))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.SUBMISSION_URL_BLOCKED);
+        assertThat(mockWebServer.getRequestCount()).isZero();
+        assertThat(meterRegistry.get("submission.probe").tag("outcome", "blocked").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void restrict_withIpLiteralHost_shouldFailConnectBeforeAnyRequest() {
+        // Given - the client alone, without the probe's up-front check, as for a redirect target
+        WebClient webClient = createWebClient(false);
+
+        // When / Then
+        assertThatThrownBy(() -> webClient.get()
+                .uri("http://127.0.0.1:" + mockWebServer.getPort() + "/latest/meta-data/")
+                .retrieve()
+                .toBodilessEntity()
+                .block(Duration.ofSeconds(3)))
+                .satisfies(e -> assertThat(isBlocked(e)).isTrue());
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+
+    @Test
+    void probe_whenHeadIsNotAllowed_shouldFallBackToGetAndReturnEtag() throws Exception {
+        // Given
+        SubmissionUrlProbe probe = createProbe(true);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(405));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).addHeader("ETag", "\"abc123\"").setBody("<"));
+
+        // When
+        SubmissionUrlProbe.ProbeResult result = probe.probe(mockWebServer.url("/index.html").toString());
+
+        // Then
+        assertThat(result.status()).isEqualTo(200);
+        assertThat(result.etag()).isEqualTo("\"abc123\"");
+        assertThat(mockWebServer.takeRequest().getMethod()).isEqualTo("HEAD");
+        assertThat(mockWebServer.takeRequest().getHeader("Range")).isEqualTo("bytes=0-0");
+    }
+
+    @Test
+    void probe_withNotFoundPage_shouldRejectWithErrorStatus() {
+        // Given
+        SubmissionUrlProbe probe = createProbe(true);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        // When / Then
+        assertThatThrownBy(() -> probe.probe(mockWebServer.url("/missing.html").toString()))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.SUBMISSION_URL_ERROR_STATUS);
+    }
+
+    @Test
+    void isPublic_shouldRejectPrivateAndMetadataAddresses() throws Exception {
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("8.8.8.8"))).isTrue();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("10.1.2.3"))).isFalse();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("169.254.169.254"))).isFalse();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("100.64.0.1"))).isFalse();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("::ffff:127.0.0.1"))).isFalse();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("fd00::1"))).isFalse();
+    }
+
+    @Test
+    void isPublic_shouldCheckIpv4EmbeddedInIpv6() throws Exception {
+        // NAT64
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("64:ff9b::808:808"))).isTrue();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("64:ff9b::a9fe:a9fe"))).isFalse();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("64:ff9b:1::808:808"))).isFalse();
+        // 6to4
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("2002:808:808::1"))).isTrue();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("2002:7f00:1::1"))).isFalse();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("2002:a00:1::1"))).isFalse();
+        // Teredo (client 10.0.0.1, inverted) and IPv4-compatible
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("2001:0:4136:e378::f5ff:fffe"))).isFalse();
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("::7f00:1"))).isFalse();
+        // Ordinary global unicast
+        assertThat(PublicAddressResolverGroup.isPublic(InetAddress.getByName("2606:4700::1111"))).isTrue();
+    }
+
+    @Test
+    void isNonPublicIpLiteral_shouldOnlyFlagPrivateLiterals() {
+        assertThat(PublicAddressGuard.isNonPublicIpLiteral("127.0.0.1")).isTrue();
+        assertThat(PublicAddressGuard.isNonPublicIpLiteral("169.254.169.254")).isTrue();
+        assertThat(PublicAddressGuard.isNonPublicIpLiteral("[::1]")).isTrue();
+        assertThat(PublicAddressGuard.isNonPublicIpLiteral("[::ffff:10.0.0.1]")).isTrue();
+        assertThat(PublicAddressGuard.isNonPublicIpLiteral("8.8.8.8")).isFalse();
+        assertThat(PublicAddressGuard.isNonPublicIpLiteral("localhost")).isFalse();
+        assertThat(PublicAddressGuard.isNonPublicIpLiteral(null)).isFalse();
+    }
+
+    private static boolean isBlocked(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PublicAddressResolverGroup.BlockedAddressException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private WebClient createWebClient(boolean allowPrivateAddresses) {
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(
+                        PublicAddressGuard.restrict(HttpClient.create(), allowPrivateAddresses)))
+                .build();
+    }
+
+    private SubmissionUrlProbe createProbe(boolean allowPrivateAddresses) {
+        WebClient webClient = createWebClient(allowPrivateAddresses);
+        SubmissionUrlProbe probe = new SubmissionUrlProbe(webClient,
+                new OutcomeTimer(meterRegistry, "submission.probe", "Submission URL pre-flight probes"));
+
+        // Use reflection to set the @Value fields
+        try {
+            var enabledField = SubmissionUrlProbe.class.getDeclaredField("enabled");
+            enabledField.setAccessible(true);
+            enabledField.set(probe, true);
+
+            var timeoutField = SubmissionUrlProbe.class.getDeclaredField("timeout");
+            timeoutField.setAccessible(true);
+            timeoutField.set(probe, Duration.ofSeconds(3));
+
+            var allowPrivateField = SubmissionUrlProbe.class.getDeclaredField("allowPrivateAddresses");
+            allowPrivateField.setAccessible(true);
+            allowPrivateField.set(probe, allowPrivateAddresses);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        return probe;
+    }
+}
@@ -0,0 +1,177 @@
+package gdgoc.onewave.connectable.infrastructure.worker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gdgoc.onewave.connectable.global.logging.DebugLoggingFilter;
+import gdgoc.onewave.connectable.global.concurrency.AdaptiveConcurrencyLimiter;
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.event.KeyValuePair;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradingWorkerClientLoggingTest {
+
+    private MockWebServer mockWebServer;
+    private GradingWorkerClient gradingWorkerClient;
+    private ListAppender<ILoggingEvent> appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        gradingWorkerClient = new GradingWorkerClient(WebClient.builder().build(), new ObjectMapper(),
+                new OutcomeTimer(new SimpleMeterRegistry(), "grading.worker.requests", "Grading worker calls"),
+                ObservationRegistry.NOOP,
+                new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), "grading.worker.limiter",
+                        AdaptiveConcurrencyLimiter.Settings.DEFAULTS),
+                new WorkerPool(new SimpleMeterRegistry(), "grading.worker.pool",
+                        List.of(mockWebServer.url("/").toString()), WorkerPool.Settings.DEFAULTS));
+
+        var timeoutField = GradingWorkerClient.class.getDeclaredField("timeoutSeconds");
+        timeoutField.setAccessible(true);
+        timeoutField.set(gradingWorkerClient, 5);
+
+        logger = (Logger) LoggerFactory.getLogger(GradingWorkerClient.class);
+        logger.setLevel(Level.INFO);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        logger.detachAppender(appender);
+        MDC.clear();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void grade_shouldEmitSingleSummaryEventWithoutBodies() {
+        // Given
+        UUID submissionId = UUID.randomUUID();
+        enqueueResults(submissionId, 20);
+
+        // When
+        gradingWorkerClient.grade(request(submissionId, 20));
+
+        // Then
+        assertThat(appender.list).hasSize(1);
+        ILoggingEvent event = appender.list.get(0);
+        assertThat(event.getLevel()).isEqualTo(Level.INFO);
+        assertThat(event.getFormattedMessage()).doesNotContain("Task");
+
+        Map<String, Object> fields = keyValues(event);
+        assertThat(fields)
+                .containsEntry("submissionId", submissionId)
+                .containsEntry("outcome", OutcomeTimer.SUCCESS)
+                .containsEntry("resultCount", 20)
+                .containsEntry("passedCount", 10)
+                .containsKey("latencyMs")
+                .doesNotContainKey("body");
+    }
+
+    @Test
+    void grade_withDebugFlag_shouldAlsoLogBodies() {
+        // Given
+        UUID submissionId = UUID.randomUUID();
+        enqueueResults(submissionId, 2);
+        MDC.put(DebugLoggingFilter.MDC_KEY, "true");
+
+        // When
+        gradingWorkerClient.grade(request(submissionId, 2));
+
+        // Then
+        assertThat(appender.list).hasSize(3);
+        assertThat(appender.list)
+                .filteredOn(event -> keyValues(event).containsKey("body"))
+                .hasSize(2);
+    }
+
+    @Test
+    void grade_withNetworkError_shouldEmitSingleWarnSummary() throws IOException {
+        // Given
+        UUID submissionId = UUID.randomUUID();
+        mockWebServer.shutdown();
+
+        // When
+        gradingWorkerClient.grade(request(submissionId, 2));
+
+        // Then
+        assertThat(appender.list).hasSize(1);
+        ILoggingEvent event = appender.list.get(0);
+        assertThat(event.getLevel()).isEqualTo(Level.WARN);
+        assertThat(keyValues(event)).containsEntry("outcome", "network_error");
+    }
+
+    @Test
+    void grade_withInvalidJson_shouldIncludeBoundedBodyExcerpt() {
+        // Given
+        UUID submissionId = UUID.randomUUID();
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("not json " + "x".repeat(10_000))
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        gradingWorkerClient.grade(request(submissionId, 2));
+
+        // Then
+        assertThat(appender.list).hasSize(1);
+        Map<String, Object> fields = keyValues(appender.list.get(0));
+        assertThat(fields).containsEntry("outcome", "parse_error");
+        assertThat((String) fields.get("bodyExcerpt"))
+                .startsWith("not json")
+                .endsWith("...(truncated)")
+                .hasSizeLessThan(2100);
+    }
+
+    private GradingWorkerClient.GradingRequest request(UUID submissionId, int tasks) {
+        List<String> subTasks = IntStream.range(0, tasks)
+                .mapToObj(i -> "Task " + i)
+                .toList();
+        return new GradingWorkerClient.GradingRequest(
+                submissionId, "https://example.com", "await page.click('button');", subTasks);
+    }
+
+    private void enqueueResults(UUID submissionId, int tasks) {
+        String results = IntStream.range(0, tasks)
+                .mapToObj(i -> "{\"taskName\": \"Task %d\", \"isPassed\": %s}".formatted(i, i % 2 == 0))
+                .collect(Collectors.joining(","));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {"submissionId": "%s", "success": true, "results": [%s], "errorMessage": null}
+                        """.formatted(submissionId, results))
+                .addHeader("Content-Type", "application/json"));
+    }
+
+    private Map<String, Object> keyValues(ILoggingEvent event) {
+        List<KeyValuePair> pairs = event.getKeyValuePairs();
+        if (pairs == null) {
+            return Map.of();
+        }
+        return pairs.stream()
+                .filter(pair -> pair.value != null)
+                .collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+}
@@ -1,6 +1,13 @@
 package gdgoc.onewave.connectable.infrastructure.worker;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gdgoc.onewave.connectable.global.concurrency.AdaptiveConcurrencyLimiter;
+import gdgoc.onewave.connectable.global.exception.BusinessException;
+import gdgoc.onewave.connectable.global.exception.ErrorCode;
+import gdgoc.onewave.connectable.global.exception.RetryAfterException;
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
@@ -9,17 +16,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class GradingWorkerClientTest {
 
     private MockWebServer mockWebServer;
     private GradingWorkerClient gradingWorkerClient;
     private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
 
     @BeforeEach
     void setUp() throws IOException {
@@ -29,14 +41,18 @@ class GradingWorkerClientTest {
         objectMapper = new ObjectMapper();
         WebClient webClient = WebClient.builder().build();
 
-        gradingWorkerClient = new GradingWorkerClient(webClient, objectMapper);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(meterRegistry, "grading.worker.limiter",
+                new AdaptiveConcurrencyLimiter.Settings(1, 1, 10, 0.9, Duration.ofSeconds(30), 0, Duration.ofMillis(100)));
 
-        // Use reflection to set the workerUrl field
-        try {
-            var field = GradingWorkerClient.class.getDeclaredField("workerUrl");
-            field.setAccessible(true);
-            field.set(gradingWorkerClient, mockWebServer.url("/").toString().replaceAll("/$", ""));
+        gradingWorkerClient = new GradingWorkerClient(webClient, objectMapper,
+                new OutcomeTimer(meterRegistry, "grading.worker.requests", "Grading worker calls"),
+                ObservationRegistry.NOOP, limiter,
+                new WorkerPool(meterRegistry, "grading.worker.pool",
+                        List.of(mockWebServer.url("/").toString()), WorkerPool.Settings.DEFAULTS));
 
+        // Use reflection to set the timeoutSeconds field
+        try {
             var timeoutField = GradingWorkerClient.class.getDeclaredField("timeoutSeconds");
             timeoutField.setAccessible(true);
             timeoutField.set(gradingWorkerClient, 5);
@@ -121,14 +137,9 @@ class GradingWorkerClientTest {
         assertThat(response.results().get(1).isPassed()).isFalse();
         assertThat(response.errorMessage()).contains("Network error");
 
-        // Restart server for next tests
+        // Restart server so tearDown can shut it down
         mockWebServer = new MockWebServer();
         mockWebServer.start();
-
-        // Update workerUrl for the restarted server
-        var field = GradingWorkerClient.class.getDeclaredField("workerUrl");
-        field.setAccessible(true);
-        field.set(gradingWorkerClient, mockWebServer.url("/").toString().replaceAll("/$", ""));
     }
 
     @Test
@@ -329,4 +340,313 @@ class GradingWorkerClientTest {
         assertThat(response.results().get(0).isPassed()).isFalse();
         assertThat(response.errorMessage()).contains("Network error");
     }
+
+    @Test
+    void grade_withClientError_shouldFailWithoutCountingAsOverload() {
+        // Given (the test limiter sits at 1 and grows by one after a saturated, healthy call)
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(),
+                "https://example.com",
+                "await page.click('button');",
+                List.of("Task 1")
+        );
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(400)
+                .setBody("Bad Request"));
+
+        // When
+        GradingWorkerClient.GradingResponse response = gradingWorkerClient.grade(request);
+
+        // Then
+        assertThat(response.success()).isFalse();
+        assertThat(response.errorMessage()).startsWith("Worker rejected request");
+        assertThat(meterRegistry.get("grading.worker.requests").tag("outcome", "client_error").timer().count())
+                .isEqualTo(1);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void grade_withServerError_shouldCountAsOverload() {
+        // Given
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(),
+                "https://example.com",
+                "await page.click('button');",
+                List.of("Task 1")
+        );
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(502)
+                .setBody("Bad Gateway"));
+
+        // When
+        gradingWorkerClient.grade(request);
+
+        // Then
+        assertThat(meterRegistry.get("grading.worker.requests").tag("outcome", "network_error").timer().count())
+                .isEqualTo(1);
+        assertThat(limiter.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void gradeOrThrowIfUnavailable_withServerError_shouldThrowInsteadOfFailing() {
+        // Given
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(),
+                "https://example.com",
+                "await page.click('button');",
+                List.of("Task 1")
+        );
+
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(503)
+                .setBody("Service Unavailable"));
+
+        // When / Then
+        assertThatThrownBy(() -> gradingWorkerClient.gradeOrThrowIfUnavailable(
+                request, AdaptiveConcurrencyLimiter.Lane.DEFAULT))
+                .isInstanceOf(BusinessException.class)
+                .extracting(e -> ((BusinessException) e).getErrorCode())
+                .isEqualTo(ErrorCode.GRADING_WORKER_UNAVAILABLE);
+        assertThat(meterRegistry.get("grading.worker.requests").tag("outcome", "network_error").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void gradeOrThrowIfUnavailable_withGradingFailure_shouldReturnIt() {
+        // Given
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(),
+                "https://example.com",
+                "await page.click('button');",
+                List.of("Task 1")
+        );
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {
+                            "submissionId": "%s",
+                            "success": false,
+                            "results": [{"taskName": "Task 1", "isPassed": false}],
+                            "errorMessage": "Assertion failed"
+                        }
+                        """.formatted(request.submissionId()))
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        GradingWorkerClient.GradingResponse response = gradingWorkerClient.gradeOrThrowIfUnavailable(
+                request, AdaptiveConcurrencyLimiter.Lane.DEFAULT);
+
+        // Then
+        assertThat(response.success()).isFalse();
+        assertThat(response.errorMessage()).isEqualTo("Assertion failed");
+    }
+
+    @Test
+    void grade_shouldRecordOutcomeMetrics() {
+        // Given
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(),
+                "https://example.com",
+                "await page.click('button');",
+                List.of("Task 1")
+        );
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("Invalid JSON {[}]")
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        gradingWorkerClient.grade(request);
+
+        // Then
+        assertThat(meterRegistry.get("grading.worker.requests").tag("outcome", "parse_error").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("grading.worker.requests.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void grade_whenWorkerAtLimit_shouldRejectAsBusyWithoutCallingWorker() {
+        // Given
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(),
+                "https://example.com",
+                "await page.click('button');",
+                List.of("Task 1")
+        );
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire().orElseThrow();
+
+        // When / Then
+        assertThatThrownBy(() -> gradingWorkerClient.grade(request))
+                .isInstanceOf(RetryAfterException.class)
+                .extracting(e -> ((RetryAfterException) e).getErrorCode())
+                .isEqualTo(ErrorCode.GRADING_WORKER_BUSY);
+        assertThat(mockWebServer.getRequestCount()).isZero();
+
+        held.release(false);
+    }
+
+    @Test
+    void grade_withNdjsonProtocol_shouldReportEachResultAsItArrives() throws Exception {
+        // Given
+        setField("protocol", GradingWorkerClient.PROTOCOL_NDJSON);
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(),
+                "https://example.com",
+                "await page.click('button');",
+                List.of("Task 1", "Task 2")
+        );
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {"taskName": "Task 1", "isPassed": true}
+                        {"taskName": "Task 2", "isPassed": false}
+                        """)
+                .addHeader("Content-Type", "application/x-ndjson"));
+        List<GradingWorkerClient.GradingResultItem> reported = new ArrayList<>();
+
+        // When
+        GradingWorkerClient.GradingResponse response = gradingWorkerClient.grade(
+                request, AdaptiveConcurrencyLimiter.Lane.DEFAULT, reported::add);
+
+        // Then
+        assertThat(response.success()).isTrue();
+        assertThat(response.results()).containsExactlyElementsOf(reported);
+        assertThat(reported).extracting(GradingWorkerClient.GradingResultItem::isPassed)
+                .containsExactly(true, false);
+        assertThat(mockWebServer.takeRequest().getHeader("Accept")).isEqualTo("application/x-ndjson");
+    }
+
+    @Test
+    void grade_withNdjsonProtocolTimingOut_shouldKeepResultsAlreadyReceived() throws Exception {
+        // Given
+        setField("protocol", GradingWorkerClient.PROTOCOL_NDJSON);
+        setField("timeoutSeconds", 1);
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(),
+                "https://example.com",
+                "await page.click('button');",
+                List.of("Task 1", "Task 2")
+        );
+
+        String firstLine = "{\"taskName\": \"Task 1\", \"isPassed\": true}\n";
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(firstLine + "{\"taskName\": \"Task 2\", \"isPassed\": true}\n")
+                .addHeader("Content-Type", "application/x-ndjson")
+                .throttleBody(firstLine.length(), 3, TimeUnit.SECONDS));
+
+        // When
+        GradingWorkerClient.GradingResponse response = gradingWorkerClient.grade(request);
+
+        // Then
+        assertThat(response.success()).isFalse();
+        assertThat(response.results()).containsExactly(
+                new GradingWorkerClient.GradingResultItem("Task 1", true),
+                new GradingWorkerClient.GradingResultItem("Task 2", false));
+        assertThat(response.errorMessage()).isEqualTo("Timed out after 1 of 2 results");
+        assertThat(meterRegistry.get("grading.worker.requests").tag("outcome", "timeout").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void grade_withHashModeUnknownToWorker_shouldResendScriptInline() throws Exception {
+        // Given
+        setField("scriptMode", GradingWorkerClient.SCRIPT_MODE_HASH);
+        String script = "await page.click('button');";
+        List<String> subTasks = List.of("Task 1");
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(), "https://example.com", script, subTasks);
+
+        mockWebServer.enqueue(new MockResponse().setResponseCode(412));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {
+                            "submissionId": "%s",
+                            "success": true,
+                            "results": [{"taskName": "Task 1", "isPassed": true}]
+                        }
+                        """.formatted(request.submissionId()))
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        GradingWorkerClient.GradingResponse response = gradingWorkerClient.grade(request);
+
+        // Then
+        assertThat(response.success()).isTrue();
+        String hashOnly = mockWebServer.takeRequest().getBody().readUtf8();
+        assertThat(hashOnly).contains(GradingWorkerClient.scriptHash(script, subTasks));
+        assertThat(hashOnly).doesNotContain("playwrightScript");
+        String inline = mockWebServer.takeRequest().getBody().readUtf8();
+        assertThat(inline).contains("\"playwrightScript\"");
+        assertThat(inline).contains("\"scriptHash\":\"" + GradingWorkerClient.scriptHash(script, subTasks) + "\"");
+    }
+
+    @Test
+    void grade_withHashModeKnownToWorker_shouldSendOnlyTheHash() throws Exception {
+        // Given
+        setField("scriptMode", GradingWorkerClient.SCRIPT_MODE_HASH);
+        String script = "await page.click('button');";
+        List<String> subTasks = List.of("Task 1");
+        String hash = GradingWorkerClient.scriptHash(script, subTasks);
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                UUID.randomUUID(), "https://example.com", script, subTasks, hash);
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {
+                            "submissionId": "%s",
+                            "success": true,
+                            "results": [{"taskName": "Task 1", "isPassed": true}]
+                        }
+                        """.formatted(request.submissionId()))
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        GradingWorkerClient.GradingResponse response = gradingWorkerClient.grade(request);
+
+        // Then
+        assertThat(response.success()).isTrue();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+        String body = mockWebServer.takeRequest().getBody().readUtf8();
+        assertThat(body).contains("\"scriptHash\":\"" + hash + "\"");
+        assertThat(body).doesNotContain("playwrightScript").doesNotContain("subTasks");
+    }
+
+    @Test
+    void registerScript_inHashMode_shouldPostScriptWithItsHash() throws Exception {
+        // Given
+        setField("scriptMode", GradingWorkerClient.SCRIPT_MODE_HASH);
+        String script = "await page.click('button');";
+        List<String> subTasks = List.of("Task 1", "Task 2");
+        mockWebServer.enqueue(new MockResponse().setResponseCode(204));
+
+        // When
+        gradingWorkerClient.registerScript(script, subTasks);
+
+        // Then
+        var recorded = mockWebServer.takeRequest(5, TimeUnit.SECONDS);
+        assertThat(recorded).isNotNull();
+        assertThat(recorded.getMethod()).isEqualTo("POST");
+        assertThat(recorded.getPath()).endsWith("/scripts");
+        GradingWorkerClient.ScriptRegistration registration = objectMapper.readValue(
+                recorded.getBody().readUtf8(), GradingWorkerClient.ScriptRegistration.class);
+        assertThat(registration).isEqualTo(new GradingWorkerClient.ScriptRegistration(
+                GradingWorkerClient.scriptHash(script, subTasks), script, subTasks));
+    }
+
+    @Test
+    void registerScript_inInlineMode_shouldNotCallWorker() {
+        // When
+        gradingWorkerClient.registerScript("await page.click('button');", List.of("Task 1"));
+
+        // Then
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+
+    private void setField(String name, Object value) throws Exception {
+        var field = GradingWorkerClient.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(gradingWorkerClient, value);
+    }
 }
@@ -0,0 +1,124 @@
+package gdgoc.onewave.connectable.infrastructure.worker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gdgoc.onewave.connectable.global.concurrency.AdaptiveConcurrencyLimiter;
+import gdgoc.onewave.connectable.global.metrics.OutcomeTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingReceiverTracingObservationHandler;
+import io.micrometer.tracing.handler.PropagatingSenderTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelPropagator;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradingWorkerClientTracingTest {
+
+    private MockWebServer mockWebServer;
+    private InMemorySpanExporter spanExporter;
+    private SdkTracerProvider tracerProvider;
+    private GradingWorkerClient gradingWorkerClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+
+        // In-memory OpenTelemetry pipeline bridged into Micrometer Observation
+        spanExporter = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+                .build();
+        ContextPropagators propagators = ContextPropagators.create(W3CTraceContextPropagator.getInstance());
+        OpenTelemetrySdk openTelemetry = OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider)
+                .setPropagators(propagators)
+                .build();
+        io.opentelemetry.api.trace.Tracer otelTracer = openTelemetry.getTracer("test");
+        OtelTracer tracer = new OtelTracer(otelTracer, new OtelCurrentTraceContext(), event -> { });
+        OtelPropagator propagator = new OtelPropagator(propagators, otelTracer);
+
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(
+                new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                        new PropagatingSenderTracingObservationHandler<>(tracer, propagator),
+                        new PropagatingReceiverTracingObservationHandler<>(tracer, propagator),
+                        new DefaultTracingObservationHandler(tracer)));
+
+        WebClient webClient = WebClient.builder().observationRegistry(observationRegistry).build();
+        gradingWorkerClient = new GradingWorkerClient(webClient, new ObjectMapper(),
+                new OutcomeTimer(new SimpleMeterRegistry(), "grading.worker.requests", "Grading worker calls"),
+                observationRegistry,
+                new AdaptiveConcurrencyLimiter(new SimpleMeterRegistry(), "grading.worker.limiter",
+                        AdaptiveConcurrencyLimiter.Settings.DEFAULTS),
+                new WorkerPool(new SimpleMeterRegistry(), "grading.worker.pool",
+                        List.of(mockWebServer.url("/").toString()), WorkerPool.Settings.DEFAULTS));
+
+        var timeoutField = GradingWorkerClient.class.getDeclaredField("timeoutSeconds");
+        timeoutField.setAccessible(true);
+        timeoutField.set(gradingWorkerClient, 5);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+        tracerProvider.close();
+    }
+
+    @Test
+    void grade_shouldPropagateTraceContextToWorker() throws Exception {
+        // Given
+        UUID submissionId = UUID.randomUUID();
+        GradingWorkerClient.GradingRequest request = new GradingWorkerClient.GradingRequest(
+                submissionId,
+                "https://example.com",
+                "await page.click('button');",
+                List.of("Task 1")
+        );
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("""
+                        {"submissionId": "%s", "success": true,
+                         "results": [{"taskName": "Task 1", "isPassed": true}], "errorMessage": null}
+                        """.formatted(submissionId))
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        gradingWorkerClient.grade(request);
+
+        // Then
+        RecordedRequest recorded = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+        String traceparent = recorded.getHeader("traceparent");
+        assertThat(traceparent).isNotNull();
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData gradeSpan = spans.stream()
+                .filter(span -> span.getName().equals("grading.worker.grade"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(traceparent.split("-")[1]).isEqualTo(gradeSpan.getTraceId());
+        assertThat(gradeSpan.getAttributes().asMap().values()).contains("success");
+    }
+}
@@ -0,0 +1,95 @@
+package gdgoc.onewave.connectable.infrastructure.worker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkerPoolTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private WorkerPool pool(boolean affinity, Duration ejectionTime, String... urls) {
+        return new WorkerPool(meterRegistry, "test.pool", List.of(urls),
+                new WorkerPool.Settings(affinity, 20, 2, ejectionTime, Duration.ofMinutes(1),
+                        Duration.ofSeconds(10), Duration.ofMillis(100)));
+    }
+
+    @Test
+    void choose_shouldAvoidWorkerWithHigherLatency() {
+        // Given
+        WorkerPool pool = pool(false, Duration.ofSeconds(30), "http://slow", "http://fast");
+        record(pool, "http://slow", 2_000 * MILLIS, false);
+        record(pool, "http://fast", 10 * MILLIS, false);
+
+        // When / Then (with two workers both are always compared)
+        for (int i = 0; i < 20; i++) {
+            WorkerPool.Member chosen = pool.choose(null);
+            assertThat(chosen.url()).isEqualTo("http://fast");
+            chosen.release(10 * MILLIS, false);
+        }
+        assertThat(meterRegistry.get("test.pool.routed").tag("worker", "http://fast").tag("route", "p2c")
+                .counter().count()).isEqualTo(20);
+    }
+
+    @Test
+    void release_afterConsecutiveFailures_shouldEjectUntilEjectionTimePasses() throws Exception {
+        // Given
+        WorkerPool pool = pool(false, Duration.ofMillis(100), "http://a", "http://b");
+
+        // When
+        record(pool, "http://a", MILLIS, true);
+        record(pool, "http://a", MILLIS, true);
+
+        // Then
+        for (int i = 0; i < 10; i++) {
+            WorkerPool.Member chosen = pool.choose(null);
+            assertThat(chosen.url()).isEqualTo("http://b");
+            chosen.release(MILLIS, false);
+        }
+        assertThat(available("http://a")).isZero();
+        assertThat(meterRegistry.get("test.pool.ejections").tag("worker", "http://a").counter().count())
+                .isEqualTo(1);
+
+        Thread.sleep(150);
+        assertThat(available("http://a")).isEqualTo(1);
+    }
+
+    @Test
+    void choose_withAffinity_shouldPinKeyUntilItsWorkerIsEjected() {
+        // Given
+        WorkerPool pool = pool(true, Duration.ofSeconds(30), "http://a", "http://b", "http://c");
+        WorkerPool.Member pinned = pool.choose("script-hash");
+        pinned.release(MILLIS, false);
+
+        // When / Then
+        for (int i = 0; i < 10; i++) {
+            WorkerPool.Member chosen = pool.choose("script-hash");
+            assertThat(chosen.url()).isEqualTo(pinned.url());
+            chosen.release(MILLIS, false);
+        }
+
+        record(pool, pinned.url(), MILLIS, true);
+        record(pool, pinned.url(), MILLIS, true);
+        WorkerPool.Member fallback = pool.choose("script-hash");
+        assertThat(fallback.url()).isNotEqualTo(pinned.url());
+    }
+
+    private static void record(WorkerPool pool, String url, long latencyNanos, boolean failed) {
+        pool.members().stream()
+                .filter(member -> member.url().equals(url))
+                .findFirst()
+                .orElseThrow()
+                .record(latencyNanos, failed);
+    }
+
+    private double available(String url) {
+        return meterRegistry.get("test.pool.member.available").tag("worker", url).gauge().value();
+    }
+}
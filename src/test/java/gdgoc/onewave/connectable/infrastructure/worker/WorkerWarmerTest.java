@@ -0,0 +1,117 @@
+package gdgoc.onewave.connectable.infrastructure.worker;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkerWarmerTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private MockWebServer mockWebServer;
+    private SimpleMeterRegistry meterRegistry;
+    private WorkerPool workerPool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+        workerPool = new WorkerPool(meterRegistry, "grading.worker.pool",
+                List.of(mockWebServer.url("/").toString()), WorkerPool.Settings.DEFAULTS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    private WorkerWarmer warmer(List<CronExpression> schedule) {
+        return warmer(schedule, Duration.ofMinutes(10));
+    }
+
+    private WorkerWarmer warmer(List<CronExpression> schedule, Duration idleInterval) {
+        return new WorkerWarmer(WebClient.builder().build(), workerPool, meterRegistry, "grading.worker.warmup",
+                new WorkerWarmer.Settings(true, "/health", idleInterval, Duration.ofMinutes(1),
+                        Duration.ofMinutes(15), 1, 3, Duration.ofSeconds(5), Duration.ofSeconds(2),
+                        schedule, Duration.ofMinutes(30), ZONE));
+    }
+
+    @Test
+    void tick_withRecentActivity_shouldSendParallelPingsUpToLimit() throws Exception {
+        // Given
+        WorkerWarmer warmer = warmer(List.of());
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(200));
+        }
+        for (int i = 0; i < 10; i++) {
+            warmer.recordActivity();
+        }
+
+        // When
+        warmer.tick();
+
+        // Then (10 events a minute at 1 per instance, capped at 3)
+        for (int i = 0; i < 3; i++) {
+            RecordedRequest ping = mockWebServer.takeRequest(1, TimeUnit.SECONDS);
+            assertThat(ping).isNotNull();
+            assertThat(ping.getMethod()).isEqualTo("GET");
+            assertThat(ping.getPath()).isEqualTo("/health");
+        }
+        assertThat(mockWebServer.takeRequest(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void tick_whenIdleAndRecentlyPinged_shouldWaitForIdleInterval() throws Exception {
+        // Given
+        WorkerWarmer warmer = warmer(List.of());
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+        warmer.tick();
+        assertThat(mockWebServer.takeRequest(1, TimeUnit.SECONDS)).isNotNull();
+
+        // When
+        warmer.tick();
+
+        // Then
+        assertThat(mockWebServer.takeRequest(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void tick_whenIdleWithIdleIntervalOff_shouldNotPing() throws Exception {
+        // Given (the default: no idle pings)
+        WorkerWarmer warmer = warmer(List.of(), Duration.ZERO);
+
+        // When
+        warmer.tick();
+
+        // Then
+        assertThat(mockWebServer.takeRequest(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void inScheduledWindow_shouldCoverWindowDurationAfterEachFireTime() {
+        // Given
+        WorkerWarmer warmer = warmer(List.of(CronExpression.parse("0 30 23 * * FRI")));
+        ZonedDateTime friday = ZonedDateTime.of(2026, 10, 16, 0, 0, 0, 0, ZONE);
+
+        // When / Then
+        assertThat(warmer.inScheduledWindow(friday.withHour(23).withMinute(10))).isFalse();
+        assertThat(warmer.inScheduledWindow(friday.withHour(23).withMinute(45))).isTrue();
+        assertThat(warmer.inScheduledWindow(friday.plusDays(1).withHour(0).withMinute(5))).isFalse();
+    }
+}